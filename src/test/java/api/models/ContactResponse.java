@@ -0,0 +1,39 @@
+package api.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Contacto tal como lo devuelve `/contacts`. Se lee con {@link ResponseBodies#contact}.
+ *
+ * @param id `_id` del contacto.
+ * @param firstName nombre.
+ * @param lastName apellido.
+ * @param birthdate fecha de nacimiento (`yyyy-MM-dd`).
+ * @param email correo.
+ * @param phone teléfono.
+ * @param street1 dirección, línea 1.
+ * @param street2 dirección, línea 2.
+ * @param city ciudad.
+ * @param stateProvince estado o provincia.
+ * @param postalCode código postal.
+ * @param country país.
+ * @param owner `_id` del usuario dueño.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ContactResponse(
+        @JsonProperty("_id") String id,
+        String firstName,
+        String lastName,
+        String birthdate,
+        String email,
+        String phone,
+        String street1,
+        String street2,
+        String city,
+        String stateProvince,
+        String postalCode,
+        String country,
+        String owner
+) {
+}
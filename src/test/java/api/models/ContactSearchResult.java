@@ -0,0 +1,18 @@
+package api.models;
+
+/**
+ * Resultado de buscar un contacto recorriendo `GET /contacts` como stream.
+ *
+ * @param statusCode status del listado.
+ * @param match primer contacto que cumplió la condición, o `null`.
+ * @param scanned contactos recorridos hasta encontrarlo (o todos, si no apareció).
+ */
+public record ContactSearchResult(int statusCode, ContactResponse match, int scanned) {
+
+    /**
+     * @return `true` si algún contacto cumplió la condición.
+     */
+    public boolean found() {
+        return match != null;
+    }
+}
@@ -0,0 +1,140 @@
+package api.models;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.restassured.response.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Bodies de respuesta como modelos tipados. Cada body se deserializa una sola vez con un lector Jackson
+ * precompilado y el resultado queda asociado a la respuesta: los steps siguientes que la lean no vuelven a parsear.
+ * A diferencia de `response.jsonPath()`, no arma un `JsonPath` nuevo por campo consultado.
+ */
+public final class ResponseBodies {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private static final ObjectReader CONTACT_READER = OBJECT_MAPPER.readerFor(ContactResponse.class);
+    private static final ObjectReader CONTACT_LIST_READER = OBJECT_MAPPER.readerForListOf(ContactResponse.class);
+    private static final ObjectReader USER_READER = OBJECT_MAPPER.readerFor(UserResponse.class);
+    private static final ObjectReader TREE_READER = OBJECT_MAPPER.reader();
+
+    /**
+     * Modelo ya leído por respuesta; las claves débiles dejan ir la respuesta junto con su modelo.
+     */
+    private static final Map<Response, Parsed> PARSED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Utilidad estática, no instanciable.
+     */
+    private ResponseBodies() {
+    }
+
+    /**
+     * @param response respuesta de `POST/GET/PUT/PATCH /contacts/...`.
+     * @return contacto del body.
+     */
+    public static ContactResponse contact(Response response) {
+        return parse(response, Kind.CONTACT, ContactResponse.class);
+    }
+
+    /**
+     * @param response respuesta de `GET /contacts`.
+     * @return contactos del body, en orden.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<ContactResponse> contacts(Response response) {
+        return parse(response, Kind.CONTACT_LIST, List.class);
+    }
+
+    /**
+     * @param response respuesta de `GET /users/me`, o de signup/login (lee el objeto `user`).
+     * @return usuario del body.
+     */
+    public static UserResponse user(Response response) {
+        return parse(response, Kind.USER, UserResponse.class);
+    }
+
+    /**
+     * Recorre un listado de contactos token a token y se detiene en el primero que cumpla la condición,
+     * sin armar la lista ni leer el resto del body. Cada contacto se lee con el mismo lector que {@link #contact}.
+     *
+     * @param statusCode status del listado; si no es 200 no se lee el body.
+     * @param body body de `GET /contacts`.
+     * @param condition condición a cumplir.
+     * @return contacto encontrado y cuántos se recorrieron.
+     * @throws IOException si el body no es un arreglo JSON o se corta la lectura.
+     */
+    public static ContactSearchResult searchContacts(int statusCode, InputStream body,
+                                                     Predicate<ContactResponse> condition) throws IOException {
+        if (statusCode != 200) {
+            return new ContactSearchResult(statusCode, null, 0);
+        }
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Se esperaba un arreglo de contactos y llegó " + parser.currentToken());
+            }
+            int scanned = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                scanned++;
+                ContactResponse contact = CONTACT_READER.readValue(parser);
+                if (condition.test(contact)) {
+                    return new ContactSearchResult(statusCode, contact, scanned);
+                }
+            }
+            return new ContactSearchResult(statusCode, null, scanned);
+        }
+    }
+
+    private static <T> T parse(Response response, Kind kind, Class<T> type) {
+        Parsed parsed = PARSED.get(response);
+        if (parsed == null || parsed.kind() != kind) {
+            parsed = new Parsed(kind, read(response.asByteArray(), kind));
+            PARSED.put(response, parsed);
+        }
+        return type.cast(parsed.value());
+    }
+
+    private static Object read(byte[] body, Kind kind) {
+        try {
+            return switch (kind) {
+                case CONTACT -> CONTACT_READER.readValue(body);
+                case CONTACT_LIST -> List.copyOf(CONTACT_LIST_READER.<List<ContactResponse>>readValue(body));
+                case USER -> {
+                    JsonNode tree = TREE_READER.readTree(body);
+                    yield USER_READER.readValue(tree.has("user") ? tree.get("user") : tree);
+                }
+            };
+        } catch (IOException exception) {
+            throw new UncheckedIOException("El body no es un " + kind.description + ": "
+                    + new String(body, 0, Math.min(body.length, 200), StandardCharsets.UTF_8), exception);
+        }
+    }
+
+    private enum Kind {
+        CONTACT("contacto"),
+        CONTACT_LIST("listado de contactos"),
+        USER("usuario");
+
+        private final String description;
+
+        Kind(String description) {
+            this.description = description;
+        }
+    }
+
+    private record Parsed(Kind kind, Object value) {
+    }
+}
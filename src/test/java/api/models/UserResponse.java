@@ -0,0 +1,21 @@
+package api.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Usuario tal como lo devuelve `/users` (dentro de `user` en signup y login). Se lee con {@link ResponseBodies#user}.
+ *
+ * @param id `_id` del usuario.
+ * @param firstName nombre.
+ * @param lastName apellido.
+ * @param email correo.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record UserResponse(
+        @JsonProperty("_id") String id,
+        String firstName,
+        String lastName,
+        String email
+) {
+}
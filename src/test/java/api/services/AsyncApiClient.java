@@ -0,0 +1,360 @@
+package api.services;
+
+import api.simulator.FaultInjection;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.internal.RestAssuredResponseImpl;
+import io.restassured.internal.log.LogRepository;
+import io.restassured.response.Response;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import utils.ApiCassette;
+import utils.ApiEvidenceFilter;
+import utils.AuthTokenCache;
+import utils.RunProperties;
+
+/**
+ * Cliente no bloqueante de las variantes `*Async` de los services, sobre un {@link HttpClient} compartido
+ * (un solo pool de conexiones). Ningún hilo queda tomado por request en vuelo: las respuestas se procesan al llegar
+ * en `api.async.threads` hilos. Responde el mismo {@link Response} de Rest Assured que las variantes bloqueantes.
+ * Lo que es por hilo (evidencia, headers de fallas, caché de tokens) se toma en el hilo del escenario al crear el cliente.
+ */
+final class AsyncApiClient {
+
+    private static final String THREADS_PROPERTY = "api.async.threads";
+    private static final String TIMEOUT_PROPERTY = "api.async.timeout.seconds";
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(Math.max(1, RunProperties.longValue(TIMEOUT_PROPERTY, 30)));
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ExecutorService EXECUTOR = newExecutor(
+            Math.max(1, RunProperties.intValue(THREADS_PROPERTY, Math.max(2, Runtime.getRuntime().availableProcessors()))));
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .executor(EXECUTOR)
+            .connectTimeout(TIMEOUT)
+            .build();
+
+    private final String baseUri;
+    private final Map<String, String> scenarioHeaders;
+    private final ApiEvidenceFilter.AsyncScope evidence;
+    private final Function<String, Optional<String>> tokenRefresher;
+
+    private AsyncApiClient(String baseUri, Map<String, String> scenarioHeaders) {
+        this.baseUri = baseUri;
+        this.scenarioHeaders = scenarioHeaders;
+        this.evidence = ApiEvidenceFilter.asyncScope();
+        this.tokenRefresher = AuthTokenCache.refresher();
+    }
+
+    /**
+     * Debe crearse en el hilo del escenario.
+     *
+     * @param baseUri base URI resuelta.
+     * @param simulator `true` si apunta al simulador: se agregan los headers de fallas del escenario.
+     */
+    static AsyncApiClient forCurrentScenario(String baseUri, boolean simulator) {
+        return new AsyncApiClient(baseUri, simulator ? FaultInjection.currentHeaders() : Map.of());
+    }
+
+    /**
+     * Envía el request con `Authorization: Bearer` (si hay token).
+     * Con cassettes activos corre en el hilo que llama, que es el que tiene el cassette asociado.
+     *
+     * @param request request a enviar.
+     * @param token token, o `null` para un request anónimo.
+     * @return respuesta; falla con la evidencia del intercambio en el mensaje si no hubo respuesta.
+     */
+    CompletableFuture<Response> send(AsyncRequest request, String token) {
+        PreparedRequest prepared;
+        try {
+            prepared = prepare(request, token);
+        } catch (IllegalArgumentException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+        byte[] body = prepared.body();
+        ApiEvidenceFilter.AsyncExchange exchange = prepared.begin(evidence);
+
+        if (ApiCassette.replaying()) {
+            try {
+                Response response = ApiCassette.replay(request.method(), request.path(), body);
+                exchange.complete(response, body);
+                return CompletableFuture.completedFuture(response);
+            } catch (RuntimeException exception) {
+                exchange.fail(exception);
+                return CompletableFuture.failedFuture(withEvidence(exchange, exception));
+            }
+        }
+
+        HttpRequest httpRequest = prepared.httpRequest();
+        CompletableFuture<HttpResponse<byte[]>> sent = ApiCassette.recording()
+                ? sendOnCurrentThread(httpRequest)
+                : HTTP_CLIENT.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+        return sent.handle((httpResponse, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                exchange.fail(cause);
+                throw withEvidence(exchange, cause);
+            }
+            Response response = toResponse(httpResponse);
+            exchange.complete(response, body);
+            return response;
+        });
+    }
+
+    /**
+     * Como {@link #send}, pero si responde 401 con un token de {@link AuthTokenCache},
+     * renueva el token y reintenta una sola vez (igual que `executeAuthorizedCall`).
+     * `onResponse` recibe la respuesta final y el token con el que se obtuvo.
+     */
+    CompletableFuture<Response> sendAuthorized(AsyncRequest request, String token,
+                                               BiConsumer<Response, String> onResponse) {
+        return send(request, token).thenCompose(response -> {
+            if (response.statusCode() != 401) {
+                return CompletableFuture.completedFuture(answered(response, token, onResponse));
+            }
+            // El login de la renovación es bloqueante: no corre en el hilo del selector del cliente.
+            CompletableFuture<Optional<String>> refreshed = ApiCassette.recording() || ApiCassette.replaying()
+                    ? CompletableFuture.completedFuture(tokenRefresher.apply(token))
+                    : CompletableFuture.supplyAsync(() -> tokenRefresher.apply(token), EXECUTOR);
+            return refreshed.thenCompose(newToken -> newToken
+                    .map(retryToken -> send(request, retryToken)
+                            .thenApply(retried -> answered(retried, retryToken, onResponse)))
+                    .orElseGet(() -> CompletableFuture.completedFuture(answered(response, token, onResponse))));
+        });
+    }
+
+    private static Response answered(Response response, String usedToken, BiConsumer<Response, String> onResponse) {
+        onResponse.accept(response, usedToken);
+        return response;
+    }
+
+    /**
+     * Envía el request en el hilo actual y entrega el body como stream, sin bufferizarlo: el lector puede
+     * dejar de leer en cualquier momento y el resto de la descarga se corta al cerrar el stream.
+     * La evidencia guarda el status, los headers y cuántos bytes se leyeron, no el body (salvo en errores 4xx/5xx).
+     * Con cassettes el body se lee completo (para grabarlo o porque viene del cassette) y el lector recorre los bytes.
+     * Si responde 401 con un token de {@link AuthTokenCache}, renueva y reintenta una vez.
+     *
+     * @param request request a enviar.
+     * @param token token del usuario.
+     * @param reader lector del body; recibe también el status.
+     * @return lo que devuelva el lector.
+     */
+    <T> T stream(AsyncRequest request, String token, BodyReader<T> reader) {
+        StreamedBody<T> streamed = streamOnce(request, token, reader);
+        if (streamed.statusCode() == 401) {
+            Optional<String> refreshedToken = tokenRefresher.apply(token);
+            if (refreshedToken.isPresent()) {
+                return streamOnce(request, refreshedToken.get(), reader).value();
+            }
+        }
+        return streamed.value();
+    }
+
+    private <T> StreamedBody<T> streamOnce(AsyncRequest request, String token, BodyReader<T> reader) {
+        PreparedRequest prepared = prepare(request, token);
+        ApiEvidenceFilter.AsyncExchange exchange = prepared.begin(evidence);
+        try {
+            if (ApiCassette.replaying() || ApiCassette.recording()) {
+                Response response = ApiCassette.replaying()
+                        ? ApiCassette.replay(request.method(), request.path(), prepared.body())
+                        : toResponse(HTTP_CLIENT.send(prepared.httpRequest(), HttpResponse.BodyHandlers.ofByteArray()));
+                exchange.complete(response, prepared.body());
+                try (InputStream body = new ByteArrayInputStream(response.asByteArray())) {
+                    return new StreamedBody<>(response.statusCode(), reader.read(response.statusCode(), body));
+                }
+            }
+            HttpResponse<InputStream> httpResponse =
+                    HTTP_CLIENT.send(prepared.httpRequest(), HttpResponse.BodyHandlers.ofInputStream());
+            if (httpResponse.statusCode() >= 400) {
+                // Los errores son chicos y su body es la evidencia útil: se conservan completos.
+                byte[] errorBody;
+                try (InputStream body = httpResponse.body()) {
+                    errorBody = body.readAllBytes();
+                }
+                exchange.complete(toResponse(httpResponse, errorBody), prepared.body());
+                return new StreamedBody<>(httpResponse.statusCode(),
+                        reader.read(httpResponse.statusCode(), new ByteArrayInputStream(errorBody)));
+            }
+            try (CountingInputStream body = new CountingInputStream(httpResponse.body())) {
+                T value = reader.read(httpResponse.statusCode(), body);
+                exchange.completeStreamed(httpResponse.statusCode(), responseHeaders(httpResponse), body.count());
+                return new StreamedBody<>(httpResponse.statusCode(), value);
+            }
+        } catch (IOException | RuntimeException exception) {
+            exchange.fail(exception);
+            throw withEvidence(exchange, exception);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            exchange.fail(interrupted);
+            throw withEvidence(exchange, interrupted);
+        }
+    }
+
+    /**
+     * Serializa el body y arma headers y URI con las convenciones de `BaseApiService`.
+     */
+    private PreparedRequest prepare(AsyncRequest request, String token) {
+        byte[] body;
+        try {
+            body = request.body() == null ? null
+                    : request.body() instanceof byte[] json ? json
+                    : OBJECT_MAPPER.writeValueAsBytes(request.body());
+        } catch (JsonProcessingException exception) {
+            throw new IllegalArgumentException("Body no serializable a JSON", exception);
+        }
+        List<Header> headers = new ArrayList<>();
+        headers.add(new Header("Content-Type", "application/json"));
+        headers.add(new Header("Accept", "application/json"));
+        scenarioHeaders.forEach((name, value) -> headers.add(new Header(name, value)));
+        if (token != null) {
+            headers.add(new Header("Authorization", "Bearer " + token));
+        }
+        return new PreparedRequest(request, baseUri + request.resolvedPath(), headers, body);
+    }
+
+    private static CompletableFuture<HttpResponse<byte[]>> sendOnCurrentThread(HttpRequest httpRequest) {
+        try {
+            return CompletableFuture.completedFuture(HTTP_CLIENT.send(httpRequest, HttpResponse.BodyHandlers.ofByteArray()));
+        } catch (IOException exception) {
+            return CompletableFuture.failedFuture(exception);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(interrupted);
+        }
+    }
+
+    private static RuntimeException withEvidence(ApiEvidenceFilter.AsyncExchange exchange, Throwable cause) {
+        return new RuntimeException("API request/response (failure)" + System.lineSeparator() + exchange.report(), cause);
+    }
+
+    /**
+     * Headers de la respuesta sin pseudo-headers de HTTP/2 (`:status`).
+     */
+    private static Headers responseHeaders(HttpResponse<?> httpResponse) {
+        List<Header> headers = new ArrayList<>();
+        httpResponse.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":")) {
+                values.forEach(value -> headers.add(new Header(name, value)));
+            }
+        });
+        return new Headers(headers);
+    }
+
+    private static Response toResponse(HttpResponse<byte[]> httpResponse) {
+        return toResponse(httpResponse, httpResponse.body());
+    }
+
+    private static Response toResponse(HttpResponse<?> httpResponse, byte[] body) {
+        // El content type lo agrega `setContentType`.
+        List<Header> headers = responseHeaders(httpResponse).asList().stream()
+                .filter(header -> !header.getName().equalsIgnoreCase("Content-Type"))
+                .toList();
+        Response response = new ResponseBuilder()
+                .setStatusCode(httpResponse.statusCode())
+                .setStatusLine("HTTP/1.1 " + httpResponse.statusCode())
+                .setHeaders(new Headers(headers))
+                .setContentType(httpResponse.headers().firstValue("Content-Type").orElse(""))
+                .setBody(body)
+                .build();
+        // Como en el replay de cassettes: `then().log()` necesita el repositorio que pone el envío real.
+        if (response instanceof RestAssuredResponseImpl builtResponse) {
+            builtResponse.setLogRepository(new LogRepository());
+        }
+        return response;
+    }
+
+    private static ExecutorService newExecutor(int threads) {
+        AtomicInteger threadSequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "api-async-" + threadSequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Lector del body de {@link #stream}.
+     */
+    @FunctionalInterface
+    interface BodyReader<T> {
+
+        T read(int statusCode, InputStream body) throws IOException;
+    }
+
+    private record StreamedBody<T>(int statusCode, T value) {
+    }
+
+    private record PreparedRequest(AsyncRequest request, String uri, List<Header> headers, byte[] body) {
+
+        private ApiEvidenceFilter.AsyncExchange begin(ApiEvidenceFilter.AsyncScope evidence) {
+            return evidence.begin(request.method(), uri, request.path(), new Headers(headers), body);
+        }
+
+        private HttpRequest httpRequest() {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(uri))
+                    .timeout(TIMEOUT)
+                    .method(request.method(), body == null
+                            ? HttpRequest.BodyPublishers.noBody()
+                            : HttpRequest.BodyPublishers.ofByteArray(body));
+            headers.forEach(header -> builder.header(header.getName(), header.getValue()));
+            return builder.build();
+        }
+    }
+
+    /**
+     * Cuenta los bytes que el lector llegó a consumir, para las métricas.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read >= 0) {
+                count++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        private long count() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package api.services;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Request del cliente asíncrono: método, path plantilla con sus parámetros y body a serializar como JSON
+ * (un `byte[]` se toma como JSON ya serializado).
+ * El path plantilla (`/contacts/{contactId}`) es el que ven las métricas, las latencias y los cassettes.
+ */
+record AsyncRequest(String method, String path, Map<String, String> pathParams, Object body) {
+
+    static AsyncRequest of(String method, String path) {
+        return new AsyncRequest(method, path, Map.of(), null);
+    }
+
+    AsyncRequest pathParam(String name, String value) {
+        Map<String, String> params = new LinkedHashMap<>(pathParams);
+        params.put(name, value);
+        return new AsyncRequest(method, path, Map.copyOf(params), body);
+    }
+
+    AsyncRequest body(Object requestBody) {
+        return new AsyncRequest(method, path, pathParams, requestBody);
+    }
+
+    /**
+     * @return path con los parámetros reemplazados y codificados.
+     */
+    String resolvedPath() {
+        String resolved = path;
+        for (Map.Entry<String, String> param : pathParams.entrySet()) {
+            resolved = resolved.replace("{" + param.getKey() + "}",
+                    URLEncoder.encode(param.getValue(), StandardCharsets.UTF_8).replace("+", "%20"));
+        }
+        return resolved;
+    }
+}
@@ -5,11 +5,13 @@ import api.models.SignupRequest;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.response.Response;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import utils.CleanupJournal;
 
 public class AuthService extends BaseApiService {
 
     public Response signUp(SignupRequest signupRequest) {
-        return executeApiCall(() -> baseRequest()
+        Response response = executeApiCall(() -> baseRequest()
                 .body(signupRequest)
                 .when()
                 .post("/users")
@@ -17,10 +19,14 @@ public class AuthService extends BaseApiService {
                 .log().ifValidationFails(LogDetail.ALL)
                 .extract()
                 .response());
+        if (response.statusCode() == 201) {
+            CleanupJournal.userCreated(signupRequest.getEmail(), response.jsonPath().getString("token"));
+        }
+        return response;
     }
 
     public Response login(LoginRequest loginRequest) {
-        return executeApiCall(() -> baseRequest()
+        Response response = executeApiCall(() -> baseRequest()
                 .body(loginRequest)
                 .when()
                 .post("/users/login")
@@ -28,6 +34,10 @@ public class AuthService extends BaseApiService {
                 .log().ifValidationFails(LogDetail.ALL)
                 .extract()
                 .response());
+        if (response.statusCode() == 200) {
+            CleanupJournal.userLoggedIn(loginRequest.getEmail(), response.jsonPath().getString("token"));
+        }
+        return response;
     }
 
     public Response loginWithPayload(Map<String, Object> payload) {
@@ -42,7 +52,7 @@ public class AuthService extends BaseApiService {
     }
 
     public Response logout(String token) {
-        return executeApiCall(() -> authorizedRequest(token)
+        return executeAuthorizedCall(token, authToken -> authorizedRequest(authToken)
                 .when()
                 .post("/users/logout")
                 .then()
@@ -52,12 +62,50 @@ public class AuthService extends BaseApiService {
     }
 
     public Response deleteCurrentUser(String token) {
-        return executeApiCall(() -> authorizedRequest(token)
+        return executeAuthorizedCall(token, authToken -> authorizedRequest(authToken)
                 .when()
                 .delete("/users/me")
                 .then()
                 .log().ifValidationFails(LogDetail.ALL)
                 .extract()
-                .response());
+                .response(), AuthService::journalDeletedUser);
+    }
+
+    public CompletableFuture<Response> signUpAsync(SignupRequest signupRequest) {
+        return executeApiCallAsync(AsyncRequest.of("POST", "/users").body(signupRequest))
+                .thenApply(response -> {
+                    if (response.statusCode() == 201) {
+                        CleanupJournal.userCreated(signupRequest.getEmail(), response.jsonPath().getString("token"));
+                    }
+                    return response;
+                });
+    }
+
+    public CompletableFuture<Response> loginAsync(LoginRequest loginRequest) {
+        return executeApiCallAsync(AsyncRequest.of("POST", "/users/login").body(loginRequest))
+                .thenApply(response -> {
+                    if (response.statusCode() == 200) {
+                        CleanupJournal.userLoggedIn(loginRequest.getEmail(), response.jsonPath().getString("token"));
+                    }
+                    return response;
+                });
+    }
+
+    public CompletableFuture<Response> logoutAsync(String token) {
+        return executeAuthorizedCallAsync(token, AsyncRequest.of("POST", "/users/logout"));
+    }
+
+    public CompletableFuture<Response> deleteCurrentUserAsync(String token) {
+        return executeAuthorizedCallAsync(token, AsyncRequest.of("DELETE", "/users/me"),
+                AuthService::journalDeletedUser);
+    }
+
+    /**
+     * Anota la eliminación con el token que la hizo: tras un 401 y renovación, el renovado.
+     */
+    private static void journalDeletedUser(Response response, String usedToken) {
+        if (response.statusCode() == 200) {
+            CleanupJournal.userDeleted(usedToken);
+        }
     }
 }
@@ -1,5 +1,8 @@
 package api.services;
 
+import api.simulator.ContactListSimulator;
+import api.simulator.FaultInjection;
+import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
@@ -9,25 +12,28 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import net.serenitybdd.rest.SerenityRest;
 import utils.ApiEvidenceFilter;
+import utils.AuthTokenCache;
 
 public abstract class BaseApiService {
 
     private static final String API_BASE_URL_PROPERTY = "api.base.url";
     private static final String DEFAULT_API_BASE_URL = "https://thinking-tester-contact-list.herokuapp.com";
+    private static final String SIMULATOR_BASE_URL = "simulator";
     private static final Pattern API_BASE_URL_PATTERN = Pattern.compile("api\\.base\\.url\\s*[=:]\\s*\"?([^\"\\s]+)\"?");
     private static final ApiEvidenceFilter API_EVIDENCE_FILTER = new ApiEvidenceFilter();
 
+    private static volatile RequestTemplate requestTemplate;
+
     protected RequestSpecification baseRequest() {
-        return SerenityRest.given()
-                .baseUri(resolveBaseUri())
-                .filter(API_EVIDENCE_FILTER)
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON);
+        return SerenityRest.given().spec(requestTemplate().specification());
     }
 
     protected RequestSpecification authorizedRequest(String token) {
@@ -38,7 +44,7 @@ public abstract class BaseApiService {
         try {
             return requestExecution.get();
         } catch (RuntimeException exception) {
-            ApiEvidenceFilter.attachLastExchangeToSerenity("API request/response (failure)");
+            attachFailureEvidence();
             String evidence = ApiEvidenceFilter.lastExchangeReport();
             if (evidence != null && !evidence.isBlank()) {
                 throw new RuntimeException("API request/response (failure)" + System.lineSeparator() + evidence, exception);
@@ -47,7 +53,134 @@ public abstract class BaseApiService {
         }
     }
 
+    /**
+     * Fuera de una corrida Serenity (carga, barrido de huérfanos) no hay dónde adjuntar:
+     * el error original tiene que llegar igual al llamador.
+     */
+    private static void attachFailureEvidence() {
+        try {
+            ApiEvidenceFilter.attachLastExchangeToSerenity("API request/response (failure)");
+        } catch (RuntimeException noSerenityRun) {
+            // Sin listener de Serenity; la evidencia igual viaja en el mensaje de la excepción.
+        }
+    }
+
+    /**
+     * Ejecuta una llamada autenticada; si responde 401 con un token de {@link AuthTokenCache},
+     * renueva el token y reintenta una sola vez.
+     */
+    protected Response executeAuthorizedCall(String token, Function<String, Response> requestExecution) {
+        return executeAuthorizedCall(token, requestExecution, (response, usedToken) -> {
+        });
+    }
+
+    /**
+     * Como {@link #executeAuthorizedCall(String, Function)}; `onResponse` recibe la respuesta final
+     * y el token con el que se obtuvo (el renovado, si hubo reintento).
+     */
+    protected Response executeAuthorizedCall(String token, Function<String, Response> requestExecution,
+                                             BiConsumer<Response, String> onResponse) {
+        Response response = executeApiCall(() -> requestExecution.apply(token));
+        String usedToken = token;
+        if (response.statusCode() == 401) {
+            Optional<String> refreshedToken = AuthTokenCache.refresh(token);
+            if (refreshedToken.isPresent()) {
+                usedToken = refreshedToken.get();
+                response = executeApiCall(() -> requestExecution.apply(refreshedToken.get()));
+            }
+        }
+        onResponse.accept(response, usedToken);
+        return response;
+    }
+
+    /**
+     * Variante no bloqueante de {@link #executeApiCall}: misma base URI, headers JSON, headers de fallas y evidencia.
+     * Debe llamarse desde el hilo del escenario.
+     */
+    CompletableFuture<Response> executeApiCallAsync(AsyncRequest request) {
+        RequestTemplate template = requestTemplate();
+        return AsyncApiClient.forCurrentScenario(template.baseUri(), template.simulator()).send(request, null);
+    }
+
+    /**
+     * Variante no bloqueante de {@link #executeAuthorizedCall}, con la misma renovación única ante 401.
+     * Debe llamarse desde el hilo del escenario.
+     */
+    CompletableFuture<Response> executeAuthorizedCallAsync(String token, AsyncRequest request) {
+        return executeAuthorizedCallAsync(token, request, (response, usedToken) -> {
+        });
+    }
+
+    /**
+     * Como {@link #executeAuthorizedCallAsync(String, AsyncRequest)}; `onResponse` recibe la respuesta final
+     * y el token con el que se obtuvo.
+     */
+    CompletableFuture<Response> executeAuthorizedCallAsync(String token, AsyncRequest request,
+                                                           BiConsumer<Response, String> onResponse) {
+        RequestTemplate template = requestTemplate();
+        return AsyncApiClient.forCurrentScenario(template.baseUri(), template.simulator())
+                .sendAuthorized(request, token, onResponse);
+    }
+
+    /**
+     * Llamada autenticada cuyo body se lee como stream, sin bufferizarlo (ver {@link AsyncApiClient#stream}).
+     */
+    <T> T executeStreamingCall(String token, AsyncRequest request, AsyncApiClient.BodyReader<T> reader) {
+        RequestTemplate template = requestTemplate();
+        return AsyncApiClient.forCurrentScenario(template.baseUri(), template.simulator()).stream(request, token, reader);
+    }
+
     protected String resolveBaseUri() {
+        return requestTemplate().baseUri();
+    }
+
+    /**
+     * @return `true` si `api.base.url` apunta al simulador en proceso.
+     */
+    public static boolean targetsSimulator() {
+        return requestTemplate().simulator();
+    }
+
+    /**
+     * Descarta la plantilla compilada; la siguiente llamada vuelve a resolver `api.base.url`.
+     * Pensado para pruebas que cambian la URL base en caliente.
+     */
+    public static void reloadRequestTemplate() {
+        requestTemplate = null;
+    }
+
+    /**
+     * Plantilla compartida con base URI, filtros y negociación JSON, compilada una sola vez.
+     */
+    private static RequestTemplate requestTemplate() {
+        RequestTemplate template = requestTemplate;
+        if (template != null) {
+            return template;
+        }
+        synchronized (BaseApiService.class) {
+            if (requestTemplate == null) {
+                String baseUri = lookupBaseUri();
+                requestTemplate = RequestTemplate.compile(resolveSimulator(baseUri), isSimulator(baseUri));
+            }
+            return requestTemplate;
+        }
+    }
+
+    /**
+     * `api.base.url=simulator` apunta al simulador en proceso ({@link ContactListSimulator}).
+     */
+    private static String resolveSimulator(String baseUri) {
+        if (isSimulator(baseUri)) {
+            return ContactListSimulator.shared().baseUrl();
+        }
+        return baseUri;
+    }
+
+    private static boolean isSimulator(String baseUri) {
+        return SIMULATOR_BASE_URL.equalsIgnoreCase(baseUri);
+    }
+
+    private static String lookupBaseUri() {
         String fromSystemProperties = System.getProperty(API_BASE_URL_PROPERTY);
         if (isNotBlank(fromSystemProperties)) {
             return fromSystemProperties;
@@ -62,7 +195,7 @@ public abstract class BaseApiService {
         return fromSerenityProperties.orElse(DEFAULT_API_BASE_URL);
     }
 
-    private Optional<String> readApiBaseUrlFromClasspathFile(String resourceName) {
+    private static Optional<String> readApiBaseUrlFromClasspathFile(String resourceName) {
         try (InputStream inputStream = Thread.currentThread()
                 .getContextClassLoader()
                 .getResourceAsStream(resourceName)) {
@@ -76,7 +209,7 @@ public abstract class BaseApiService {
                         .map(API_BASE_URL_PATTERN::matcher)
                         .filter(Matcher::find)
                         .map(matcher -> matcher.group(1))
-                        .filter(this::isNotBlank)
+                        .filter(BaseApiService::isNotBlank)
                         .findFirst();
             }
         } catch (IOException ignored) {
@@ -84,7 +217,27 @@ public abstract class BaseApiService {
         }
     }
 
-    private boolean isNotBlank(String value) {
+    private static boolean isNotBlank(String value) {
         return value != null && !value.isBlank();
     }
+
+    /**
+     * Base URI resuelta y spec inmutable de la que derivan todos los requests.
+     * La spec nunca se expone ni se modifica: `given().spec(...)` copia sus valores.
+     */
+    private record RequestTemplate(String baseUri, boolean simulator, RequestSpecification specification) {
+
+        private static RequestTemplate compile(String baseUri, boolean simulator) {
+            RequestSpecBuilder builder = new RequestSpecBuilder().setBaseUri(baseUri);
+            if (simulator) {
+                builder.addFilter(FaultInjection.headersFilter());
+            }
+            RequestSpecification specification = builder
+                    .addFilter(API_EVIDENCE_FILTER)
+                    .setContentType(ContentType.JSON)
+                    .setAccept(ContentType.JSON)
+                    .build();
+            return new RequestTemplate(baseUri, simulator, specification);
+        }
+    }
 }
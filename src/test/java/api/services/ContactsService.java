@@ -1,20 +1,40 @@
 package api.services;
 
 import api.models.ContactRequest;
+import api.models.ContactResponse;
+import api.models.ContactSearchResult;
+import api.models.ResponseBodies;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.response.Response;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+import utils.CleanupJournal;
 
 public class ContactsService extends BaseApiService {
 
     public Response createContact(ContactRequest contactRequest, String token) {
-        return executeApiCall(() -> authorizedRequest(token)
+        return executeAuthorizedCall(token, authToken -> authorizedRequest(authToken)
                 .body(contactRequest)
                 .when()
                 .post("/contacts")
                 .then()
                 .log().ifValidationFails(LogDetail.ALL)
                 .extract()
-                .response());
+                .response(), ContactsService::journalCreatedContact);
+    }
+
+    /**
+     * Como {@link #createContact}, con el payload ya serializado (por ejemplo de {@link utils.DataPool}).
+     */
+    public Response createContactFromJson(byte[] contactJson, String token) {
+        return executeAuthorizedCall(token, authToken -> authorizedRequest(authToken)
+                .body(contactJson)
+                .when()
+                .post("/contacts")
+                .then()
+                .log().ifValidationFails(LogDetail.ALL)
+                .extract()
+                .response(), ContactsService::journalCreatedContact);
     }
 
     public Response createContactWithoutToken(ContactRequest contactRequest) {
@@ -29,7 +49,7 @@ public class ContactsService extends BaseApiService {
     }
 
     public Response listContacts(String token) {
-        return executeApiCall(() -> authorizedRequest(token)
+        return executeAuthorizedCall(token, authToken -> authorizedRequest(authToken)
                 .when()
                 .get("/contacts")
                 .then()
@@ -38,8 +58,26 @@ public class ContactsService extends BaseApiService {
                 .response());
     }
 
+    /**
+     * Busca en `GET /contacts` leyendo el body como stream y corta la descarga en el primer contacto
+     * con ese id o con ese nombre completo.
+     */
+    public ContactSearchResult findContactInListing(String token, String contactId, String firstName, String lastName) {
+        return searchContacts(token, contact -> contact.id() != null && contact.id().equals(contactId)
+                || firstName != null && firstName.equals(contact.firstName())
+                && lastName != null && lastName.equals(contact.lastName()));
+    }
+
+    /**
+     * Busca en `GET /contacts` leyendo el body como stream y corta la descarga en el primer contacto que cumpla.
+     */
+    public ContactSearchResult searchContacts(String token, Predicate<ContactResponse> condition) {
+        return executeStreamingCall(token, AsyncRequest.of("GET", "/contacts"),
+                (statusCode, body) -> ResponseBodies.searchContacts(statusCode, body, condition));
+    }
+
     public Response getContactById(String contactId, String token) {
-        return executeApiCall(() -> authorizedRequest(token)
+        return executeAuthorizedCall(token, authToken -> authorizedRequest(authToken)
                 .pathParam("contactId", contactId)
                 .when()
                 .get("/contacts/{contactId}")
@@ -50,7 +88,7 @@ public class ContactsService extends BaseApiService {
     }
 
     public Response updateContact(String contactId, ContactRequest contactRequest, String token) {
-        return executeApiCall(() -> authorizedRequest(token)
+        return executeAuthorizedCall(token, authToken -> authorizedRequest(authToken)
                 .pathParam("contactId", contactId)
                 .body(contactRequest)
                 .when()
@@ -62,7 +100,7 @@ public class ContactsService extends BaseApiService {
     }
 
     public Response updateContactPut(String contactId, ContactRequest contactRequest, String token) {
-        return executeApiCall(() -> authorizedRequest(token)
+        return executeAuthorizedCall(token, authToken -> authorizedRequest(authToken)
                 .pathParam("contactId", contactId)
                 .body(contactRequest)
                 .when()
@@ -74,7 +112,7 @@ public class ContactsService extends BaseApiService {
     }
 
     public Response updateContactPatch(String contactId, ContactRequest contactRequest, String token) {
-        return executeApiCall(() -> authorizedRequest(token)
+        return executeAuthorizedCall(token, authToken -> authorizedRequest(authToken)
                 .pathParam("contactId", contactId)
                 .body(contactRequest)
                 .when()
@@ -86,7 +124,7 @@ public class ContactsService extends BaseApiService {
     }
 
     public Response deleteContact(String contactId, String token) {
-        return executeApiCall(() -> authorizedRequest(token)
+        Response response = executeAuthorizedCall(token, authToken -> authorizedRequest(authToken)
                 .pathParam("contactId", contactId)
                 .when()
                 .delete("/contacts/{contactId}")
@@ -94,5 +132,55 @@ public class ContactsService extends BaseApiService {
                 .log().ifValidationFails(LogDetail.ALL)
                 .extract()
                 .response());
+        if (response.statusCode() == 200) {
+            CleanupJournal.contactDeleted(contactId);
+        }
+        return response;
+    }
+
+    public CompletableFuture<Response> createContactAsync(ContactRequest contactRequest, String token) {
+        return executeAuthorizedCallAsync(token, AsyncRequest.of("POST", "/contacts").body(contactRequest),
+                ContactsService::journalCreatedContact);
+    }
+
+    public CompletableFuture<Response> listContactsAsync(String token) {
+        return executeAuthorizedCallAsync(token, AsyncRequest.of("GET", "/contacts"));
+    }
+
+    public CompletableFuture<Response> getContactByIdAsync(String contactId, String token) {
+        return executeAuthorizedCallAsync(token, AsyncRequest.of("GET", "/contacts/{contactId}")
+                .pathParam("contactId", contactId));
+    }
+
+    public CompletableFuture<Response> updateContactPutAsync(String contactId, ContactRequest contactRequest, String token) {
+        return executeAuthorizedCallAsync(token, AsyncRequest.of("PUT", "/contacts/{contactId}")
+                .pathParam("contactId", contactId)
+                .body(contactRequest));
+    }
+
+    public CompletableFuture<Response> updateContactPatchAsync(String contactId, ContactRequest contactRequest, String token) {
+        return executeAuthorizedCallAsync(token, AsyncRequest.of("PATCH", "/contacts/{contactId}")
+                .pathParam("contactId", contactId)
+                .body(contactRequest));
+    }
+
+    public CompletableFuture<Response> deleteContactAsync(String contactId, String token) {
+        return executeAuthorizedCallAsync(token, AsyncRequest.of("DELETE", "/contacts/{contactId}")
+                .pathParam("contactId", contactId))
+                .thenApply(response -> {
+                    if (response.statusCode() == 200) {
+                        CleanupJournal.contactDeleted(contactId);
+                    }
+                    return response;
+                });
+    }
+
+    /**
+     * Anota el contacto con el token que lo creó: tras un 401 y renovación, el renovado.
+     */
+    private static void journalCreatedContact(Response response, String usedToken) {
+        if (response.statusCode() == 201) {
+            CleanupJournal.contactCreated(ResponseBodies.contact(response).id(), usedToken);
+        }
     }
 }
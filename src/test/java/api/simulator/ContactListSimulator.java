@@ -0,0 +1,513 @@
+package api.simulator;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import utils.RunProperties;
+
+/**
+ * Simulador en proceso de la Contact List API para correr `@api` sin red (`-Dapi.base.url=simulator`).
+ * Implementa `/users`, `/users/login`, `/users/logout`, `/users/me` y el CRUD de `/contacts` con los
+ * mismos status que asertan los features. Guarda todo en memoria concurrente y levanta en un puerto libre.
+ * Latencias, errores y cortes de conexión salen de {@link FaultProfiles}.
+ */
+public final class ContactListSimulator {
+
+    private static final String PORT_PROPERTY = "api.simulator.port";
+    private static final String THREADS_PROPERTY = "api.simulator.threads";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {
+    };
+    private static final Pattern OBJECT_ID = Pattern.compile("[0-9a-fA-F]{24}");
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final List<String> CONTACT_FIELDS = List.of("firstName", "lastName", "birthdate", "email",
+            "phone", "street1", "street2", "city", "stateProvince", "postalCode", "country");
+    private static final int MIN_PASSWORD_LENGTH = 7;
+    private static final String APPLICATION_ERROR_PAGE = "<!DOCTYPE html><html><head><title>Application Error</title>"
+            + "</head><body>Application error</body></html>";
+
+    private static volatile ContactListSimulator shared;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final FaultProfiles faults;
+    private final SecureRandom random = new SecureRandom();
+    private final AtomicLong idSequence = new AtomicLong();
+    private final String idPrefix = String.format("%08x", random.nextInt());
+
+    private final Map<String, User> usersByEmail = new ConcurrentHashMap<>();
+    private final Map<String, User> usersByToken = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Map<String, Object>>> contactsByOwner = new ConcurrentHashMap<>();
+
+    private ContactListSimulator(int port, int threads, FaultProfiles faults) throws IOException {
+        this.faults = faults;
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "contact-list-simulator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        startAsDaemon(server);
+    }
+
+    /**
+     * El hilo dispatcher del servidor hereda el carácter daemon de quien lo arranca;
+     * arrancarlo desde un hilo daemon evita que el simulador mantenga viva la JVM al terminar `main`.
+     */
+    private static void startAsDaemon(HttpServer server) {
+        Thread starter = new Thread(server::start, "contact-list-simulator-start");
+        starter.setDaemon(true);
+        starter.start();
+        try {
+            starter.join();
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido al levantar el simulador.", interrupted);
+        }
+    }
+
+    /**
+     * Simulador compartido de la JVM; se levanta en el primer uso y se apaga con la JVM.
+     *
+     * @return simulador en ejecución.
+     */
+    public static ContactListSimulator shared() {
+        ContactListSimulator simulator = shared;
+        if (simulator != null) {
+            return simulator;
+        }
+        synchronized (ContactListSimulator.class) {
+            if (shared == null) {
+                shared = start(RunProperties.intValue(PORT_PROPERTY, 0),
+                        Math.max(1, RunProperties.intValue(THREADS_PROPERTY, 8)));
+                Runtime.getRuntime().addShutdownHook(new Thread(shared::stop, "contact-list-simulator-stop"));
+            }
+            return shared;
+        }
+    }
+
+    /**
+     * Levanta un simulador independiente.
+     *
+     * @param port puerto, o 0 para uno libre.
+     * @param threads hilos que atienden requests.
+     * @return simulador en ejecución.
+     */
+    public static ContactListSimulator start(int port, int threads) {
+        // Sin esto el servidor del JDK espera el ACK retrasado de TCP y cada respuesta pequeña suma ~40 ms.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        try {
+            return new ContactListSimulator(port, threads, FaultProfiles.load());
+        } catch (IOException exception) {
+            throw new IllegalStateException("No se pudo levantar el simulador de la Contact List API.", exception);
+        }
+    }
+
+    /**
+     * @return URL base, por ejemplo `http://127.0.0.1:54321`.
+     */
+    public String baseUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort();
+    }
+
+    /**
+     * @return perfiles de fallas con los que decide este simulador.
+     */
+    public FaultProfiles faults() {
+        return faults;
+    }
+
+    /**
+     * Detiene el servidor y sus hilos.
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Un corte de conexión es cerrar el intercambio sin enviar headers: el servidor del JDK cierra el socket.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod().toUpperCase(Locale.ROOT);
+            String path = exchange.getRequestURI().getPath();
+            FaultProfiles.Decision fault = faults.decide(
+                    exchange.getRequestHeaders().getFirst(FaultInjection.PROFILE_HEADER),
+                    exchange.getRequestHeaders().getFirst(FaultInjection.SCENARIO_HEADER),
+                    method, path);
+            if (!delay(fault.delayMs()) || fault.drop() == FaultProfiles.Drop.BEFORE) {
+                return;
+            }
+            Reply reply;
+            if (fault.errorStatus() > 0) {
+                reply = Reply.text(fault.errorStatus(), APPLICATION_ERROR_PAGE);
+            } else {
+                try {
+                    reply = route(method, path, exchange);
+                } catch (JsonProcessingException | IllegalArgumentException malformedJson) {
+                    reply = Reply.json(400, Map.of("message", "Malformed JSON body"));
+                } catch (RuntimeException exception) {
+                    reply = Reply.json(500, Map.of("message", String.valueOf(exception.getMessage())));
+                }
+            }
+            if (fault.drop() != FaultProfiles.Drop.AFTER) {
+                send(exchange, reply);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static boolean delay(long millis) {
+        if (millis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Reply route(String method, String path, HttpExchange exchange) throws IOException {
+        String normalizedPath = path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+        switch (normalizedPath) {
+            case "/users":
+                return "POST".equals(method) ? signUp(readBody(exchange)) : Reply.notFound();
+            case "/users/login":
+                return "POST".equals(method) ? login(readBody(exchange)) : Reply.notFound();
+            case "/users/logout":
+                return "POST".equals(method) ? withUser(exchange, this::logout) : Reply.notFound();
+            case "/users/me":
+                return switch (method) {
+                    case "GET" -> withUser(exchange, (user, token) -> Reply.json(200, user.view()));
+                    case "PATCH" -> withUser(exchange, (user, token) -> updateUser(user, readBodyUnchecked(exchange)));
+                    case "DELETE" -> withUser(exchange, this::deleteUser);
+                    default -> Reply.notFound();
+                };
+            case "/contacts":
+                return switch (method) {
+                    case "GET" -> withUser(exchange, (user, token) -> Reply.json(200, listContacts(user)));
+                    case "POST" -> withUser(exchange, (user, token) -> createContact(user, readBodyUnchecked(exchange)));
+                    default -> Reply.notFound();
+                };
+            default:
+                if (normalizedPath.startsWith("/contacts/")) {
+                    String contactId = normalizedPath.substring("/contacts/".length());
+                    return withUser(exchange, (user, token) -> contact(method, user, contactId, exchange));
+                }
+                return Reply.notFound();
+        }
+    }
+
+    private Reply signUp(Map<String, Object> body) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        String firstName = requiredText(body, "firstName", errors);
+        String lastName = requiredText(body, "lastName", errors);
+        String email = requiredText(body, "email", errors);
+        String password = requiredText(body, "password", errors);
+        if (email != null && !EMAIL.matcher(email).matches()) {
+            errors.put("email", "Email is invalid");
+        }
+        if (password != null && password.length() < MIN_PASSWORD_LENGTH) {
+            errors.put("password", "Path `password` is shorter than the minimum allowed length (7).");
+        }
+        if (!errors.isEmpty()) {
+            return validationFailed("User", errors);
+        }
+        User user = new User(nextId(), firstName, lastName, email, password);
+        if (usersByEmail.putIfAbsent(key(email), user) != null) {
+            return Reply.json(400, Map.of("message", "Email address is already in use"));
+        }
+        contactsByOwner.put(user.id, new ConcurrentHashMap<>());
+        String token = issueToken(user);
+        return Reply.json(201, Map.of("user", user.view(), "token", token));
+    }
+
+    private Reply login(Map<String, Object> body) {
+        Object email = body.get("email");
+        Object password = body.get("password");
+        if (!(email instanceof String) || !(password instanceof String)) {
+            return Reply.empty(401);
+        }
+        User user = usersByEmail.get(key((String) email));
+        if (user == null || !user.password.equals(password)) {
+            return Reply.empty(401);
+        }
+        return Reply.json(200, Map.of("user", user.view(), "token", issueToken(user)));
+    }
+
+    private Reply logout(User user, String token) {
+        usersByToken.remove(token);
+        return Reply.empty(200);
+    }
+
+    private Reply updateUser(User user, Map<String, Object> body) {
+        synchronized (user) {
+            if (body.get("firstName") instanceof String firstName) {
+                user.firstName = firstName;
+            }
+            if (body.get("lastName") instanceof String lastName) {
+                user.lastName = lastName;
+            }
+            if (body.get("password") instanceof String password) {
+                user.password = password;
+            }
+        }
+        return Reply.json(200, user.view());
+    }
+
+    private Reply deleteUser(User user, String token) {
+        usersByEmail.remove(key(user.email), user);
+        usersByToken.values().removeIf(user::equals);
+        contactsByOwner.remove(user.id);
+        return Reply.empty(200);
+    }
+
+    private List<Map<String, Object>> listContacts(User user) {
+        return new ArrayList<>(ownedContacts(user).values());
+    }
+
+    private Reply createContact(User user, Map<String, Object> body) {
+        Map<String, String> errors = validateContact(body, true);
+        if (!errors.isEmpty()) {
+            return validationFailed("Contact", errors);
+        }
+        Map<String, Object> contact = contactDocument(nextId(), user, body);
+        ownedContacts(user).put((String) contact.get("_id"), contact);
+        return Reply.json(201, contact);
+    }
+
+    private Reply contact(String method, User user, String contactId, HttpExchange exchange) {
+        if (!OBJECT_ID.matcher(contactId).matches()) {
+            return Reply.json(400, Map.of("message", "Invalid Contact ID"));
+        }
+        Map<String, Map<String, Object>> contacts = ownedContacts(user);
+        Map<String, Object> current = contacts.get(contactId);
+        if (current == null) {
+            return Reply.empty(404);
+        }
+        return switch (method) {
+            case "GET" -> Reply.json(200, current);
+            case "DELETE" -> contacts.remove(contactId) == null ? Reply.empty(404) : Reply.text(200, "Contact deleted");
+            case "PUT" -> replaceContact(user, contacts, contactId, readBodyUnchecked(exchange), true);
+            case "PATCH" -> replaceContact(user, contacts, contactId, readBodyUnchecked(exchange), false);
+            default -> Reply.notFound();
+        };
+    }
+
+    /**
+     * PUT reemplaza el documento (exige los obligatorios); PATCH mezcla sobre el actual.
+     */
+    private Reply replaceContact(User user, Map<String, Map<String, Object>> contacts, String contactId,
+                                 Map<String, Object> body, boolean fullReplace) {
+        Map<String, String> errors = validateContact(body, fullReplace);
+        if (!errors.isEmpty()) {
+            return validationFailed("Contact", errors);
+        }
+        Map<String, Object> updated = contacts.computeIfPresent(contactId, (id, current) -> {
+            Map<String, Object> merged = new LinkedHashMap<>(fullReplace ? Map.of() : current);
+            merged.putAll(body);
+            return contactDocument(id, user, merged);
+        });
+        return updated == null ? Reply.empty(404) : Reply.json(200, updated);
+    }
+
+    private Map<String, String> validateContact(Map<String, Object> body, boolean requireNames) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        if (requireNames) {
+            requiredText(body, "firstName", errors);
+            requiredText(body, "lastName", errors);
+        }
+        if (body.get("email") instanceof String email && !email.isEmpty() && !EMAIL.matcher(email).matches()) {
+            errors.put("email", "Email is invalid");
+        }
+        return errors;
+    }
+
+    private Map<String, Object> contactDocument(String id, User owner, Map<String, Object> fields) {
+        Map<String, Object> contact = new LinkedHashMap<>();
+        contact.put("_id", id);
+        for (String field : CONTACT_FIELDS) {
+            if (fields.get(field) != null) {
+                contact.put(field, fields.get(field));
+            }
+        }
+        contact.put("owner", owner.id);
+        contact.put("__v", 0);
+        return contact;
+    }
+
+    private Map<String, Map<String, Object>> ownedContacts(User user) {
+        return contactsByOwner.computeIfAbsent(user.id, ignored -> new ConcurrentHashMap<>());
+    }
+
+    private Reply withUser(HttpExchange exchange, UserAction action) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        String token = authorization != null && authorization.regionMatches(true, 0, "Bearer ", 0, 7)
+                ? authorization.substring(7).trim()
+                : null;
+        User user = token == null ? null : usersByToken.get(token);
+        if (user == null) {
+            return Reply.json(401, Map.of("error", "Please authenticate."));
+        }
+        return action.apply(user, token);
+    }
+
+    private String issueToken(User user) {
+        byte[] bytes = new byte[24];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        usersByToken.put(token, user);
+        return token;
+    }
+
+    private String nextId() {
+        return idPrefix + String.format("%016x", idSequence.incrementAndGet());
+    }
+
+    private static String requiredText(Map<String, Object> body, String field, Map<String, String> errors) {
+        if (body.get(field) instanceof String value && !value.isBlank()) {
+            return value;
+        }
+        errors.put(field, "Path `" + field + "` is required.");
+        return null;
+    }
+
+    private static Reply validationFailed(String model, Map<String, String> errors) {
+        String details = String.join(", ", errors.entrySet().stream()
+                .map(error -> error.getKey() + ": " + error.getValue())
+                .toList());
+        Map<String, Object> errorsBody = new LinkedHashMap<>();
+        errors.forEach((field, message) -> errorsBody.put(field, Map.of("message", message, "path", field)));
+        return Reply.json(400, Map.of(
+                "errors", errorsBody,
+                "_message", model + " validation failed",
+                "message", model + " validation failed: " + details));
+    }
+
+    private static String key(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            byte[] bytes = body.readAllBytes();
+            if (bytes.length == 0) {
+                return Map.of();
+            }
+            Map<String, Object> parsed = OBJECT_MAPPER.readValue(bytes, JSON_OBJECT);
+            return parsed == null ? Map.of() : parsed;
+        }
+    }
+
+    private static Map<String, Object> readBodyUnchecked(HttpExchange exchange) {
+        try {
+            return readBody(exchange);
+        } catch (IOException exception) {
+            throw new IllegalArgumentException("Malformed JSON body", exception);
+        }
+    }
+
+    private static void send(HttpExchange exchange, Reply reply) throws IOException {
+        byte[] body = reply.body();
+        if (reply.contentType() != null) {
+            exchange.getResponseHeaders().set("Content-Type", reply.contentType());
+        }
+        exchange.sendResponseHeaders(reply.status(), body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface UserAction {
+
+        Reply apply(User user, String token);
+    }
+
+    /**
+     * Usuario registrado. Nombre y clave se pueden cambiar con `PATCH /users/me`.
+     */
+    private static final class User {
+
+        private final String id;
+        private final String email;
+        private volatile String firstName;
+        private volatile String lastName;
+        private volatile String password;
+
+        private User(String id, String firstName, String lastName, String email, String password) {
+            this.id = id;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.email = email;
+            this.password = password;
+        }
+
+        private Map<String, Object> view() {
+            Map<String, Object> view = new LinkedHashMap<>();
+            view.put("_id", id);
+            view.put("firstName", firstName);
+            view.put("lastName", lastName);
+            view.put("email", email);
+            view.put("__v", 1);
+            return view;
+        }
+    }
+
+    /**
+     * Respuesta HTTP ya serializada.
+     */
+    private record Reply(int status, String contentType, byte[] body) {
+
+        private static Reply json(int status, Object body) {
+            try {
+                return new Reply(status, "application/json; charset=utf-8", OBJECT_MAPPER.writeValueAsBytes(body));
+            } catch (JsonProcessingException exception) {
+                throw new IllegalStateException(exception);
+            }
+        }
+
+        private static Reply text(int status, String body) {
+            return new Reply(status, "text/html; charset=utf-8", body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static Reply empty(int status) {
+            return new Reply(status, null, new byte[0]);
+        }
+
+        private static Reply notFound() {
+            return empty(404);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package api.simulator;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Lado cliente de los perfiles de fallas: el escenario elige perfil con el tag `@faults:<perfil>`
+ * y cada request al simulador lo informa en headers, junto con una clave estable del escenario.
+ */
+public final class FaultInjection {
+
+    static final String PROFILE_HEADER = "X-Simulator-Faults";
+    static final String SCENARIO_HEADER = "X-Simulator-Scenario";
+
+    private static final String TAG_PREFIX = "@faults:";
+    private static final ThreadLocal<ScenarioFaults> CURRENT = new ThreadLocal<>();
+    private static final Filter HEADERS_FILTER = new HeadersFilter();
+
+    /**
+     * Utilidad estática, no instanciable.
+     */
+    private FaultInjection() {
+    }
+
+    /**
+     * Activa el perfil del escenario en el hilo actual.
+     *
+     * @param tags tags del escenario.
+     * @param scenarioKey clave estable entre corridas (por ejemplo `uri:línea`).
+     */
+    public static void begin(Collection<String> tags, String scenarioKey) {
+        String profile = tags.stream()
+                .filter(tag -> tag.startsWith(TAG_PREFIX))
+                .map(tag -> tag.substring(TAG_PREFIX.length()))
+                .findFirst()
+                .orElse(null);
+        CURRENT.set(new ScenarioFaults(profile, scenarioKey));
+    }
+
+    /**
+     * Desactiva el perfil del hilo actual.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return filtro que agrega los headers del escenario; solo se registra cuando se usa el simulador.
+     */
+    public static Filter headersFilter() {
+        return HEADERS_FILTER;
+    }
+
+    /**
+     * @return perfil pedido por el escenario del hilo actual, o `null` si no eligió uno.
+     */
+    public static String currentProfile() {
+        ScenarioFaults faults = CURRENT.get();
+        return faults == null ? null : faults.profile();
+    }
+
+    /**
+     * @return clave del escenario del hilo actual, o `null` fuera de un escenario.
+     */
+    public static String currentScenarioKey() {
+        ScenarioFaults faults = CURRENT.get();
+        return faults == null ? null : faults.scenarioKey();
+    }
+
+    /**
+     * Headers del escenario del hilo actual, para clientes que no pasan por Rest Assured.
+     *
+     * @return headers a agregar (vacío si no hay escenario activo).
+     */
+    public static Map<String, String> currentHeaders() {
+        ScenarioFaults faults = CURRENT.get();
+        if (faults == null) {
+            return Map.of();
+        }
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (faults.profile() != null) {
+            headers.put(PROFILE_HEADER, faults.profile());
+        }
+        headers.put(SCENARIO_HEADER, faults.scenarioKey());
+        return headers;
+    }
+
+    private record ScenarioFaults(String profile, String scenarioKey) {
+    }
+
+    private static final class HeadersFilter implements Filter {
+
+        @Override
+        public Response filter(FilterableRequestSpecification requestSpec,
+                               FilterableResponseSpecification responseSpec,
+                               FilterContext ctx) {
+            currentHeaders().forEach(requestSpec::header);
+            return ctx.next(requestSpec, responseSpec);
+        }
+    }
+}
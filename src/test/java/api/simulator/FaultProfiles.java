@@ -0,0 +1,296 @@
+package api.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.RunProperties;
+
+/**
+ * Perfiles de latencia y fallas del simulador, leídos de `simulator/fault-profiles.json`.
+ * Cada perfil es una lista de reglas por endpoint (`METODO /path`, con `*` como comodín); gana la primera que calza.
+ * Las decisiones salen de la semilla `api.simulator.seed` y de un contador por escenario y endpoint,
+ * así la misma corrida reproduce las mismas fallas aunque los escenarios corran en paralelo.
+ */
+public final class FaultProfiles {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FaultProfiles.class);
+
+    private static final String FILE_PROPERTY = "api.simulator.faults.file";
+    private static final String DEFAULT_PROFILE_PROPERTY = "api.simulator.faults";
+    private static final String SEED_PROPERTY = "api.simulator.seed";
+    private static final String DEFAULT_RESOURCE = "simulator/fault-profiles.json";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Pattern RAW_ID_SEGMENT = Pattern.compile("/[0-9a-fA-F]{24}(?=/|$)");
+    /**
+     * Z de p99 en una normal estándar: con mediana y p99 queda fija la log-normal de la cola.
+     */
+    private static final double Z_P99 = 2.3263478740;
+
+    private final Map<String, Profile> profiles;
+    private final String defaultProfile;
+    private final long seed;
+    private final Map<String, AtomicLong> sequences = new ConcurrentHashMap<>();
+    private final AtomicLong lastRequestAt = new AtomicLong();
+
+    private FaultProfiles(Map<String, Profile> profiles, String defaultProfile, long seed) {
+        this.profiles = profiles;
+        this.defaultProfile = defaultProfile;
+        this.seed = seed;
+    }
+
+    /**
+     * Carga los perfiles del archivo configurado (o del classpath) y la semilla de la corrida.
+     * Sin `api.simulator.seed` se sortea una y se imprime para poder repetir la corrida.
+     *
+     * @return perfiles listos para decidir.
+     */
+    public static FaultProfiles load() {
+        String seedValue = RunProperties.value(SEED_PROPERTY, null);
+        long seed = seedValue == null ? new SplittableRandom().nextLong() : RunProperties.longValue(SEED_PROPERTY, 0);
+        FaultProfiles faults = new FaultProfiles(parse(readTree()), RunProperties.value(DEFAULT_PROFILE_PROPERTY, null),
+                seed);
+        if (!faults.profiles.isEmpty()) {
+            LOGGER.info("simulator faults seed={} profiles={}{}", seed, faults.profiles.keySet(),
+                    faults.defaultProfile == null ? "" : " default=" + faults.defaultProfile);
+        }
+        return faults;
+    }
+
+    /**
+     * @return semilla de las decisiones; repetirla con `-Dapi.simulator.seed` reproduce las fallas.
+     */
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * Decide latencia y falla de un request.
+     *
+     * @param profileName perfil pedido por el escenario, o `null` para el default de la corrida.
+     * @param scenarioKey identificador estable del escenario, o `null`.
+     * @param method método HTTP.
+     * @param path path crudo del request.
+     * @return decisión; {@link Decision#NONE} si no aplica ningún perfil.
+     */
+    public Decision decide(String profileName, String scenarioKey, String method, String path) {
+        String name = profileName == null || profileName.isBlank() ? defaultProfile : profileName;
+        Profile profile = name == null ? null : profiles.get(name);
+        if (profile == null) {
+            return Decision.NONE;
+        }
+        long coldStartMs = coldStart(profile);
+        String endpoint = method + " " + RAW_ID_SEGMENT.matcher(path).replaceAll("/{id}");
+        Rule rule = profile.match(endpoint);
+        if (rule == null) {
+            return coldStartMs == 0 ? Decision.NONE : new Decision(coldStartMs, 0, Drop.NONE);
+        }
+        String key = name + "|" + scenarioKey + "|" + endpoint;
+        long sequence = sequences.computeIfAbsent(key, ignored -> new AtomicLong()).getAndIncrement();
+        return decision(rule, key, sequence, coldStartMs);
+    }
+
+    /**
+     * Decisión que corresponde al request número `sequence` de un escenario y endpoint, sin consumir el contador
+     * ni el arranque en frío: permite comparar lo observado con lo que dicta la semilla.
+     *
+     * @param profileName perfil pedido por el escenario, o `null` para el default de la corrida.
+     * @param scenarioKey identificador estable del escenario, o `null`.
+     * @param method método HTTP.
+     * @param path path crudo del request.
+     * @param sequence posición del request (desde 0) entre los del mismo escenario y endpoint.
+     * @return decisión; {@link Decision#NONE} si no aplica ningún perfil.
+     */
+    public Decision expected(String profileName, String scenarioKey, String method, String path, long sequence) {
+        String name = profileName == null || profileName.isBlank() ? defaultProfile : profileName;
+        Profile profile = name == null ? null : profiles.get(name);
+        if (profile == null) {
+            return Decision.NONE;
+        }
+        String endpoint = method + " " + RAW_ID_SEGMENT.matcher(path).replaceAll("/{id}");
+        Rule rule = profile.match(endpoint);
+        return rule == null ? Decision.NONE : decision(rule, name + "|" + scenarioKey + "|" + endpoint, sequence, 0);
+    }
+
+    private Decision decision(Rule rule, String key, long sequence, long coldStartMs) {
+        SplittableRandom random = new SplittableRandom(seed ^ mix(key.hashCode(), sequence));
+        long delayMs = coldStartMs + rule.latency().sampleMillis(random);
+        double roll = random.nextDouble();
+        if (roll < rule.dropRate()) {
+            return new Decision(delayMs, 0, rule.dropAfterProcessing() ? Drop.AFTER : Drop.BEFORE);
+        }
+        if (roll < rule.dropRate() + rule.errorRate()) {
+            return new Decision(delayMs, rule.errorStatus(), Drop.NONE);
+        }
+        return new Decision(delayMs, 0, Drop.NONE);
+    }
+
+    /**
+     * Arranque en frío estilo Heroku: solo el primer request tras `coldStartIdleMs` sin tráfico paga la demora.
+     */
+    private long coldStart(Profile profile) {
+        if (profile.coldStartMs() <= 0) {
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        long previous = lastRequestAt.getAndSet(now);
+        return previous == 0 || now - previous >= profile.coldStartIdleMs() ? profile.coldStartMs() : 0;
+    }
+
+    private static long mix(long hash, long sequence) {
+        long value = hash * 0x9E3779B97F4A7C15L + sequence;
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    private static JsonNode readTree() {
+        String file = RunProperties.value(FILE_PROPERTY, null);
+        try {
+            if (file != null) {
+                return OBJECT_MAPPER.readTree(Files.readAllBytes(Path.of(file)));
+            }
+            try (InputStream resource = Thread.currentThread().getContextClassLoader()
+                    .getResourceAsStream(DEFAULT_RESOURCE)) {
+                return resource == null ? OBJECT_MAPPER.createObjectNode() : OBJECT_MAPPER.readTree(resource);
+            }
+        } catch (IOException exception) {
+            throw new IllegalStateException("No se pudieron leer los perfiles de fallas "
+                    + (file == null ? DEFAULT_RESOURCE : file) + ".", exception);
+        }
+    }
+
+    private static Map<String, Profile> parse(JsonNode root) {
+        Map<String, Profile> profiles = new LinkedHashMap<>();
+        root.properties().forEach(entry -> {
+            JsonNode node = entry.getValue();
+            List<Rule> rules = new ArrayList<>();
+            node.path("rules").forEach(rule -> rules.add(Rule.parse(entry.getKey(), rule)));
+            profiles.put(entry.getKey(), new Profile(List.copyOf(rules),
+                    node.path("coldStartMs").asLong(0),
+                    node.path("coldStartIdleMs").asLong(Long.MAX_VALUE)));
+        });
+        return Map.copyOf(profiles);
+    }
+
+    /**
+     * Corte de conexión: antes de procesar el request o después (el servidor aplicó el cambio y el cliente no se entera).
+     */
+    public enum Drop {
+        NONE,
+        BEFORE,
+        AFTER
+    }
+
+    /**
+     * Qué hacerle a un request.
+     *
+     * @param delayMs demora antes de responder.
+     * @param errorStatus status de error a devolver en lugar de procesar, o 0.
+     * @param drop corte de conexión.
+     */
+    public record Decision(long delayMs, int errorStatus, Drop drop) {
+
+        static final Decision NONE = new Decision(0, 0, Drop.NONE);
+    }
+
+    private record Profile(List<Rule> rules, long coldStartMs, long coldStartIdleMs) {
+
+        private Rule match(String endpoint) {
+            for (Rule rule : rules) {
+                if (rule.endpoint().matcher(endpoint).matches()) {
+                    return rule;
+                }
+            }
+            return null;
+        }
+    }
+
+    private record Rule(Pattern endpoint, Latency latency, double errorRate, int errorStatus, double dropRate,
+                        boolean dropAfterProcessing) {
+
+        private static Rule parse(String profile, JsonNode node) {
+            String endpoint = node.path("endpoint").asText("*").trim();
+            if (!endpoint.contains(" ")) {
+                endpoint = "* " + endpoint;
+            }
+            String[] parts = endpoint.split("\\s+", 2);
+            String regex = glob(parts[0].toUpperCase(Locale.ROOT)) + " " + glob(parts[1]);
+            double errorRate = rate(profile, node, "errorRate");
+            double dropRate = rate(profile, node, "dropRate");
+            if (errorRate + dropRate > 1) {
+                throw new IllegalStateException("Perfil '" + profile + "': errorRate + dropRate supera 1 en " + endpoint);
+            }
+            return new Rule(Pattern.compile(regex), Latency.parse(profile, node.path("latency")), errorRate,
+                    node.path("errorStatus").asInt(503), dropRate,
+                    "after".equalsIgnoreCase(node.path("dropPhase").asText("before")));
+        }
+
+        private static String glob(String value) {
+            return "*".equals(value) ? ".*" : Pattern.quote(value).replace("*", "\\E.*\\Q");
+        }
+
+        private static double rate(String profile, JsonNode node, String field) {
+            double value = node.path(field).asDouble(0);
+            if (value < 0 || value > 1) {
+                throw new IllegalStateException("Perfil '" + profile + "': " + field + " debe estar entre 0 y 1.");
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Distribución de latencia: `fixed` (`ms`), `uniform` (`minMs`..`maxMs`) o
+     * `longtail` (log-normal con `medianMs` y `p99Ms`, recortada en `maxMs`).
+     */
+    private record Latency(String distribution, double first, double second, double maxMs) {
+
+        private static final Latency NONE = new Latency("fixed", 0, 0, 0);
+
+        private static Latency parse(String profile, JsonNode node) {
+            if (node.isMissingNode() || node.isNull()) {
+                return NONE;
+            }
+            String distribution = node.path("distribution").asText("fixed").toLowerCase(Locale.ROOT);
+            return switch (distribution) {
+                case "fixed" -> new Latency(distribution, node.path("ms").asDouble(0), 0, 0);
+                case "uniform" -> new Latency(distribution, node.path("minMs").asDouble(0),
+                        node.path("maxMs").asDouble(0), 0);
+                case "longtail" -> {
+                    double median = node.path("medianMs").asDouble(0);
+                    double p99 = node.path("p99Ms").asDouble(median);
+                    if (median <= 0 || p99 < median) {
+                        throw new IllegalStateException("Perfil '" + profile + "': longtail requiere 0 < medianMs <= p99Ms.");
+                    }
+                    yield new Latency(distribution, Math.log(median), Math.log(p99 / median) / Z_P99,
+                            node.path("maxMs").asDouble(Double.MAX_VALUE));
+                }
+                default -> throw new IllegalStateException(
+                        "Perfil '" + profile + "': distribución desconocida '" + distribution + "'.");
+            };
+        }
+
+        private long sampleMillis(SplittableRandom random) {
+            double millis = switch (distribution) {
+                case "uniform" -> first + (second - first) * random.nextDouble();
+                case "longtail" -> Math.min(maxMs, Math.exp(first + second * random.nextGaussian()));
+                default -> first;
+            };
+            return Math.max(0, Math.round(millis));
+        }
+    }
+}
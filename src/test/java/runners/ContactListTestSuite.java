@@ -1,16 +1,15 @@
 package runners;
 
-import io.cucumber.junit.CucumberOptions;
-import net.serenitybdd.cucumber.CucumberWithSerenity;
-import org.junit.runner.RunWith;
+import org.junit.platform.suite.api.IncludeEngines;
+import org.junit.platform.suite.api.SelectClasspathResource;
+import org.junit.platform.suite.api.Suite;
 
-@SuppressWarnings({ "deprecation", "removal" })
-@RunWith(CucumberWithSerenity.class)
-@CucumberOptions(
-        features = "src/test/resources/features",
-        glue = "stepdefinitions",
-        tags = "not (@ignore or @bug or @known_bug)",
-        plugin = {"pretty"}
-)
+/**
+ * Suite principal sobre el motor Cucumber de JUnit Platform.
+ * Glue, plugins, tags y paralelismo se configuran en `junit-platform.properties`.
+ */
+@Suite
+@IncludeEngines("cucumber")
+@SelectClasspathResource("features")
 public class ContactListTestSuite {
 }
@@ -1,8 +1,17 @@
 package runners;
 
-import org.junit.internal.TextListener;
-import org.junit.runner.JUnitCore;
-import org.junit.runner.Result;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+import java.io.PrintWriter;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+import utils.LoadGenerator;
+import utils.OrphanSweeper;
+import utils.PerformanceGate;
 
 /**
  * Punto de entrada para correr la suite desde el IDE con un click.
@@ -10,6 +19,11 @@ import org.junit.runner.Result;
  */
 public final class MainRun {
 
+    private static final String SWEEP_ORPHANS_ARGUMENT = "--sweep-orphans";
+    private static final String PERF_GATE_ARGUMENT = "--perf-gate";
+    private static final String PERF_REBASELINE_ARGUMENT = "--perf-rebaseline";
+    private static final String LOAD_TEST_ARGUMENT = "--load-test";
+
     /**
      * Clase utilitaria, no se instancia.
      */
@@ -19,20 +33,93 @@ public final class MainRun {
     /**
      * Ejecuta `ContactListTestSuite`.
      * Si llega un argumento, se usa como filtro de tags de Cucumber.
+     * Con `--sweep-orphans` no corre la suite: barre los recursos huérfanos de la bitácora de limpieza.
+     * Con `--perf-gate` compara la última corrida contra la línea base; `--perf-rebaseline` la reemplaza.
+     * Con `--load-test` corre carga de modelo abierto; los siguientes argumentos `clave=valor` pisan `load.clave`.
      *
-     * @param args args[0] opcional, por ejemplo: "@smoke and @api"
+     * @param args args[0] opcional, por ejemplo: "@smoke and @api", "--sweep-orphans", "--perf-gate"
+     *             o "--load-test rate=20 duration.seconds=120"
      */
     public static void main(String[] args) {
+        String command = args != null && args.length > 0 ? args[0] : null;
+        if (SWEEP_ORPHANS_ARGUMENT.equals(command)) {
+            sweepOrphans();
+            return;
+        }
+        if (PERF_GATE_ARGUMENT.equals(command)) {
+            checkPerformanceGate();
+            return;
+        }
+        if (PERF_REBASELINE_ARGUMENT.equals(command)) {
+            System.out.println("Línea base actualizada: " + PerformanceGate.rebaseline());
+            return;
+        }
+        if (LOAD_TEST_ARGUMENT.equals(command)) {
+            runLoadTest(args);
+            return;
+        }
+
         if (args != null && args.length > 0 && args[0] != null && !args[0].isBlank()) {
             System.setProperty("cucumber.filter.tags", args[0]);
         }
 
-        JUnitCore junitCore = new JUnitCore();
-        junitCore.addListener(new TextListener(System.out));
+        LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request()
+                .selectors(selectClass(ContactListTestSuite.class))
+                .build();
+
+        Launcher launcher = LauncherFactory.create();
+        SummaryGeneratingListener listener = new SummaryGeneratingListener();
+        launcher.execute(request, listener);
 
-        Result result = junitCore.run(ContactListTestSuite.class);
-        if (!result.wasSuccessful()) {
+        TestExecutionSummary summary = listener.getSummary();
+        summary.printTo(new PrintWriter(System.out));
+        if (summary.getTotalFailureCount() > 0) {
             System.exit(1);
         }
     }
+
+    /**
+     * Barre los huérfanos de `CleanupJournal`; falla si alguno no se pudo borrar.
+     * Lanza en vez de `System.exit` porque también corre dentro de Maven (`exec:java`).
+     */
+    private static void sweepOrphans() {
+        OrphanSweeper.Result result = new OrphanSweeper().sweep();
+        System.out.println(result.summary());
+        if (!result.failed().isEmpty()) {
+            throw new IllegalStateException(result.failed().size() + " recursos huérfanos no se pudieron borrar.");
+        }
+    }
+
+    /**
+     * Corre {@link LoadGenerator}; `rate=20` equivale a `-Dload.rate=20`.
+     * Falla si ningún flujo se completó.
+     */
+    private static void runLoadTest(String[] args) {
+        for (int index = 1; index < args.length; index++) {
+            String[] option = args[index].split("=", 2);
+            if (option.length != 2 || option[0].isBlank()) {
+                throw new IllegalArgumentException("Argumento de carga inválido '" + args[index] + "'; se espera clave=valor.");
+            }
+            System.setProperty("load." + option[0].trim(), option[1].trim());
+        }
+        LoadGenerator.Result result = new LoadGenerator().run();
+        System.out.println(result.summary());
+        if (result.workflows().stream().allMatch(workflow -> workflow.succeeded() == 0)) {
+            throw new IllegalStateException("La carga no completó ningún flujo.");
+        }
+    }
+
+    /**
+     * Imprime la tabla de diferencias de performance y falla si el gate está en modo `fail` y hay regresiones
+     * o la línea base está vacía.
+     */
+    private static void checkPerformanceGate() {
+        PerformanceGate.Result result = PerformanceGate.evaluate();
+        System.out.println(result.diffTable());
+        if (result.failed()) {
+            throw new IllegalStateException(result.armed()
+                    ? "Regresión de performance contra la línea base (perf.gate.mode=fail)."
+                    : "Línea base de performance vacía: el gate no puede comparar (perf.gate.mode=fail).");
+        }
+    }
 }
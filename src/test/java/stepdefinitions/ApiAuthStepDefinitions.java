@@ -3,6 +3,7 @@ package stepdefinitions;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import api.models.LoginRequest;
+import api.models.ResponseBodies;
 import api.models.SignupRequest;
 import api.services.AuthService;
 import io.cucumber.java.en.Given;
@@ -14,7 +15,9 @@ import java.util.Locale;
 import java.util.Map;
 import ui.models.UserCredentials;
 import utils.AuthProperties;
+import utils.AuthTokenCache;
 import utils.DataFactory;
+import utils.ResourceRegistry;
 import utils.ScenarioContext;
 
 /**
@@ -23,12 +26,15 @@ import utils.ScenarioContext;
  */
 public class ApiAuthStepDefinitions {
 
-    private static final int SIGNUP_MAX_ATTEMPTS = 10;
+    /**
+     * Los correos de {@link DataFactory} no se repiten entre hilos, forks ni corridas; el reintento
+     * solo cubre un `-Ddata.run.id` reutilizado a mano.
+     */
+    private static final int SIGNUP_MAX_ATTEMPTS = 2;
 
     private final AuthService authService = new AuthService();
 
     private Response signupResponse;
-    private Response loginResponse;
     private Response invalidLoginResponse;
     private Response missingFieldsLoginResponse;
     private Response logoutResponse;
@@ -45,15 +51,11 @@ public class ApiAuthStepDefinitions {
     }
 
     /**
-      Registra y autentica usuario para obtener token válido en contexto.
+      Obtiene un token válido del usuario configurado (caché por worker) y lo deja en contexto.
      */
     @Given("que el usuario se autentica por API y obtiene un token valido")
     public void autenticaPorApi() {
-        AuthProperties.ensureConfiguredUserCanLogin(authService);
-        loginResponse = authService.login(new LoginRequest(AuthProperties.email(), AuthProperties.password()));
-        assertThat(loginResponse.statusCode()).isEqualTo(200);
-
-        String token = loginResponse.jsonPath().getString("token");
+        String token = AuthProperties.configuredUserToken(authService);
         assertThat(token).isNotBlank();
 
         ScenarioContext.set("token", token);
@@ -82,7 +84,7 @@ public class ApiAuthStepDefinitions {
     @Then("el usuario creado por API debe tener email generado")
     public void validaEmailGeneradoEnSignup() {
         assertThat(createdApiUserEmail).isNotBlank();
-        String emailResponse = signupResponse.jsonPath().getString("user.email");
+        String emailResponse = ResponseBodies.user(signupResponse).email();
         assertThat(emailResponse).isEqualTo(createdApiUserEmail);
     }
 
@@ -122,6 +124,7 @@ public class ApiAuthStepDefinitions {
     public void cierraSesionPorApi() {
         String token = ScenarioContext.get("token", String.class);
         logoutResponse = authService.logout(token);
+        AuthTokenCache.invalidate(token);
     }
 
     /**
@@ -131,6 +134,8 @@ public class ApiAuthStepDefinitions {
     public void eliminaUsuarioActualPorApi() {
         String token = ScenarioContext.get("token", String.class);
         deleteUserResponse = authService.deleteCurrentUser(token);
+        AuthTokenCache.invalidateUser(token);
+        ResourceRegistry.forgetUserWithToken(token);
     }
 
     /**
@@ -189,6 +194,7 @@ public class ApiAuthStepDefinitions {
                 if (token != null && !token.isBlank()) {
                     ScenarioContext.set("token", token);
                 }
+                ResourceRegistry.registerUser(createdApiUserEmail, userCredentials.getPassword(), token);
                 return userCredentials;
             }
 
@@ -0,0 +1,181 @@
+package stepdefinitions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import api.models.ContactRequest;
+import api.models.ContactResponse;
+import api.models.LoginRequest;
+import api.models.ResponseBodies;
+import api.models.SignupRequest;
+import api.services.AuthService;
+import api.services.ContactsService;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import io.restassured.response.Response;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import utils.DataFactory;
+import utils.ResourceRegistry;
+import utils.ScenarioContext;
+
+/**
+ * Step definitions de preparación concurrente con las variantes `*Async` de los services.
+ * Los requests salen todos desde el hilo del escenario y se esperan juntos; el registro para la limpieza
+ * se hace después, en el mismo hilo.
+ */
+public class ApiConcurrentStepDefinitions {
+
+    private final AuthService authService = new AuthService();
+    private final ContactsService contactsService = new ContactsService();
+
+    private SignupRequest preparedUser;
+    private List<String> preparedContactIds = List.of();
+
+    /**
+     * Registra un usuario nuevo y crea contactos con el token del escenario, todo en vuelo a la vez.
+     *
+     * @param count cantidad de contactos a crear.
+     */
+    @When("prepara en paralelo un usuario nuevo y {int} contactos por API")
+    public void preparaEnParaleloUsuarioYContactos(int count) {
+        String token = scenarioToken();
+
+        preparedUser = DataFactory.uniqueSignupRequest();
+        CompletableFuture<Response> signup = authService.signUpAsync(preparedUser);
+        List<CompletableFuture<Response>> creations = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            creations.add(contactsService.createContactAsync(DataFactory.validApiContact(), token));
+        }
+
+        Response signupResponse = signup.join();
+        assertThat(signupResponse.statusCode()).as("signup: %s", signupResponse.asString()).isEqualTo(201);
+        ResourceRegistry.registerUser(preparedUser.getEmail(), preparedUser.getPassword(),
+                signupResponse.jsonPath().getString("token"));
+
+        List<String> ids = new ArrayList<>(count);
+        for (CompletableFuture<Response> creation : creations) {
+            Response response = creation.join();
+            assertThat(response.statusCode()).as("crear contacto: %s", response.asString()).isEqualTo(201);
+            String contactId = ResponseBodies.contact(response).id();
+            ResourceRegistry.registerContact(contactId, token);
+            ids.add(contactId);
+        }
+        preparedContactIds = List.copyOf(ids);
+    }
+
+    /**
+     * Consulta todos los contactos preparados a la vez.
+     *
+     * @param count cantidad esperada de contactos.
+     */
+    @Then("los {int} contactos preparados deben poder consultarse por id")
+    public void contactosPreparadosDebenPoderConsultarse(int count) {
+        String token = scenarioToken();
+        assertThat(preparedContactIds).hasSize(count);
+
+        List<CompletableFuture<Response>> lookups = preparedContactIds.stream()
+                .map(contactId -> contactsService.getContactByIdAsync(contactId, token))
+                .toList();
+        for (int index = 0; index < lookups.size(); index++) {
+            Response response = lookups.get(index).join();
+            assertThat(response.statusCode()).as("GET contacto %s", preparedContactIds.get(index)).isEqualTo(200);
+            assertThat(ResponseBodies.contact(response).id()).isEqualTo(preparedContactIds.get(index));
+        }
+    }
+
+    /**
+     * Actualiza la mitad de los contactos por PUT y la otra mitad por PATCH, en paralelo.
+     */
+    @When("actualiza en paralelo los contactos preparados por PUT y PATCH")
+    public void actualizaEnParaleloLosContactosPreparados() {
+        String token = scenarioToken();
+
+        List<CompletableFuture<Response>> updates = new ArrayList<>(preparedContactIds.size());
+        for (int index = 0; index < preparedContactIds.size(); index++) {
+            String contactId = preparedContactIds.get(index);
+            if (index % 2 == 0) {
+                updates.add(contactsService.updateContactPutAsync(contactId, DataFactory.updatedApiContact(), token));
+            } else {
+                ContactRequest patch = new ContactRequest();
+                patch.setPhone(DataFactory.updatedApiContact().getPhone());
+                updates.add(contactsService.updateContactPatchAsync(contactId, patch, token));
+            }
+        }
+        for (CompletableFuture<Response> update : updates) {
+            Response response = update.join();
+            assertThat(response.statusCode()).as("actualizar contacto: %s", response.asString()).isEqualTo(200);
+        }
+    }
+
+    /**
+     * Elimina todos los contactos preparados a la vez.
+     */
+    @When("elimina en paralelo los contactos preparados por API")
+    public void eliminaEnParaleloLosContactosPreparados() {
+        String token = scenarioToken();
+
+        List<CompletableFuture<Response>> deletions = preparedContactIds.stream()
+                .map(contactId -> contactsService.deleteContactAsync(contactId, token))
+                .toList();
+        for (int index = 0; index < deletions.size(); index++) {
+            Response response = deletions.get(index).join();
+            assertThat(response.statusCode()).as("eliminar contacto %s", preparedContactIds.get(index)).isEqualTo(200);
+            ResourceRegistry.forgetContact(preparedContactIds.get(index));
+        }
+    }
+
+    /**
+     * Verifica que ningún contacto preparado siga existiendo, por id y en el listado.
+     */
+    @Then("los contactos preparados no deben existir por API")
+    public void contactosPreparadosNoDebenExistir() {
+        String token = scenarioToken();
+
+        CompletableFuture<Response> listing = contactsService.listContactsAsync(token);
+        List<CompletableFuture<Response>> lookups = preparedContactIds.stream()
+                .map(contactId -> contactsService.getContactByIdAsync(contactId, token))
+                .toList();
+        for (int index = 0; index < lookups.size(); index++) {
+            assertThat(lookups.get(index).join().statusCode())
+                    .as("GET contacto eliminado %s", preparedContactIds.get(index))
+                    .isEqualTo(404);
+        }
+        Response listResponse = listing.join();
+        assertThat(listResponse.statusCode()).isEqualTo(200);
+        assertThat(ResponseBodies.contacts(listResponse).stream().map(ContactResponse::id).collect(Collectors.toSet()))
+                .doesNotContainAnyElementsOf(preparedContactIds);
+    }
+
+    /**
+     * Abre dos sesiones del usuario preparado a la vez, cierra una y elimina el usuario con la otra.
+     */
+    @Then("el usuario preparado debe poder iniciar sesion, cerrar sesion y eliminarse por API")
+    public void usuarioPreparadoDebePoderCerrarSesionYEliminarse() {
+        assertThat(preparedUser).as("Se esperaba un usuario preparado en el escenario").isNotNull();
+        LoginRequest credentials = new LoginRequest(preparedUser.getEmail(), preparedUser.getPassword());
+
+        CompletableFuture<Response> firstLogin = authService.loginAsync(credentials);
+        CompletableFuture<Response> secondLogin = authService.loginAsync(credentials);
+        String firstToken = tokenOf(firstLogin.join());
+        String secondToken = tokenOf(secondLogin.join());
+
+        assertThat(authService.logoutAsync(firstToken).join().statusCode()).isEqualTo(200);
+        assertThat(authService.deleteCurrentUserAsync(secondToken).join().statusCode()).isEqualTo(200);
+        ResourceRegistry.forgetUserWithEmail(preparedUser.getEmail());
+    }
+
+    private static String tokenOf(Response loginResponse) {
+        assertThat(loginResponse.statusCode()).as("login: %s", loginResponse.asString()).isEqualTo(200);
+        String token = loginResponse.jsonPath().getString("token");
+        assertThat(token).isNotBlank();
+        return token;
+    }
+
+    private static String scenarioToken() {
+        String token = ScenarioContext.get("token", String.class);
+        assertThat(token).as("Se esperaba un token en el contexto del escenario").isNotBlank();
+        return token;
+    }
+}
@@ -3,13 +3,15 @@ package stepdefinitions;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import api.models.ContactRequest;
+import api.models.ContactResponse;
+import api.models.ContactSearchResult;
+import api.models.ResponseBodies;
 import api.services.ContactsService;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
 import io.restassured.response.Response;
-import java.util.List;
-import java.util.Map;
 import utils.DataFactory;
+import utils.ResourceRegistry;
 import utils.ScenarioContext;
 
 /**
@@ -42,11 +44,12 @@ public class ApiContactsStepDefinitions {
         createContactResponse = contactsService.createContact(createdContact, token);
         assertThat(createContactResponse.statusCode()).isEqualTo(201);
 
-        String contactId = createContactResponse.jsonPath().getString("_id");
+        String contactId = ResponseBodies.contact(createContactResponse).id();
         assertThat(contactId).isNotBlank();
 
         ScenarioContext.set("contactId", contactId);
         ScenarioContext.set("createdContact", createdContact);
+        ResourceRegistry.registerContact(contactId, token);
     }
 
     /**
@@ -58,25 +61,12 @@ public class ApiContactsStepDefinitions {
         String contactId = ScenarioContext.get("contactId", String.class);
         ContactRequest expectedContact = ScenarioContext.get("createdContact", ContactRequest.class);
 
-        Response listContactsResponse = contactsService.listContacts(token);
-        assertThat(listContactsResponse.statusCode()).isEqualTo(200);
-
-        List<Map<String, Object>> contacts = listContactsResponse.jsonPath().getList("$");
-        assertThat(contacts).isNotEmpty();
-
-        boolean foundByIdOrName = contacts.stream().anyMatch(contact -> {
-            String id = String.valueOf(contact.get("_id"));
-            String firstName = String.valueOf(contact.get("firstName"));
-            String lastName = String.valueOf(contact.get("lastName"));
-
-            boolean matchById = contactId.equals(id);
-            boolean matchByName = expectedContact.getFirstName().equals(firstName)
-                    && expectedContact.getLastName().equals(lastName);
-
-            return matchById || matchByName;
-        });
-
-        assertThat(foundByIdOrName).isTrue();
+        ContactSearchResult search = contactsService.findContactInListing(
+                token, contactId, expectedContact.getFirstName(), expectedContact.getLastName());
+        assertThat(search.statusCode()).isEqualTo(200);
+        assertThat(search.found())
+                .as("contacto %s en el listado (%d contactos recorridos)", contactId, search.scanned())
+                .isTrue();
     }
 
     /**
@@ -217,6 +207,7 @@ public class ApiContactsStepDefinitions {
 
         Response deleteResponse = contactsService.deleteContact(contactId, token);
         ScenarioContext.set("deleteStatus", deleteResponse.statusCode());
+        ResourceRegistry.forgetContact(contactId);
     }
 
     /**
@@ -250,16 +241,17 @@ public class ApiContactsStepDefinitions {
      * Verifica que los campos enviados en el payload queden iguales en la respuesta.
      */
     private void assertContactMatchesResponse(ContactRequest expectedContact, Response response) {
-        assertThat(response.jsonPath().getString("firstName")).isEqualTo(expectedContact.getFirstName());
-        assertThat(response.jsonPath().getString("lastName")).isEqualTo(expectedContact.getLastName());
-        assertThat(response.jsonPath().getString("birthdate")).isEqualTo(expectedContact.getBirthdate());
-        assertThat(response.jsonPath().getString("email")).isEqualTo(expectedContact.getEmail());
-        assertThat(response.jsonPath().getString("phone")).isEqualTo(expectedContact.getPhone());
-        assertThat(response.jsonPath().getString("street1")).isEqualTo(expectedContact.getStreet1());
-        assertThat(response.jsonPath().getString("street2")).isEqualTo(expectedContact.getStreet2());
-        assertThat(response.jsonPath().getString("city")).isEqualTo(expectedContact.getCity());
-        assertThat(response.jsonPath().getString("stateProvince")).isEqualTo(expectedContact.getStateProvince());
-        assertThat(response.jsonPath().getString("postalCode")).isEqualTo(expectedContact.getPostalCode());
-        assertThat(response.jsonPath().getString("country")).isEqualTo(expectedContact.getCountry());
+        ContactResponse actualContact = ResponseBodies.contact(response);
+        assertThat(actualContact.firstName()).isEqualTo(expectedContact.getFirstName());
+        assertThat(actualContact.lastName()).isEqualTo(expectedContact.getLastName());
+        assertThat(actualContact.birthdate()).isEqualTo(expectedContact.getBirthdate());
+        assertThat(actualContact.email()).isEqualTo(expectedContact.getEmail());
+        assertThat(actualContact.phone()).isEqualTo(expectedContact.getPhone());
+        assertThat(actualContact.street1()).isEqualTo(expectedContact.getStreet1());
+        assertThat(actualContact.street2()).isEqualTo(expectedContact.getStreet2());
+        assertThat(actualContact.city()).isEqualTo(expectedContact.getCity());
+        assertThat(actualContact.stateProvince()).isEqualTo(expectedContact.getStateProvince());
+        assertThat(actualContact.postalCode()).isEqualTo(expectedContact.getPostalCode());
+        assertThat(actualContact.country()).isEqualTo(expectedContact.getCountry());
     }
 }
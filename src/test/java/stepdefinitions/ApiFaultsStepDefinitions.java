@@ -0,0 +1,85 @@
+package stepdefinitions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import api.services.BaseApiService;
+import api.services.ContactsService;
+import api.simulator.ContactListSimulator;
+import api.simulator.FaultInjection;
+import api.simulator.FaultProfiles;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import java.util.ArrayList;
+import java.util.List;
+import org.opentest4j.TestAbortedException;
+import utils.DataFactory;
+
+/**
+ * Step definitions de los perfiles de fallas del simulador (`@faults:<perfil>`).
+ * Lo observado se compara con {@link FaultProfiles#expected}: con la misma semilla, la misma secuencia.
+ */
+public class ApiFaultsStepDefinitions {
+
+    private static final String DROPPED = "corte";
+    private static final String UNAUTHORIZED = "401";
+    /**
+     * Tope de intentos; con el perfil `flaky` no ver un 502 y un corte en 200 altas es del orden de 1 en 30.000.
+     */
+    private static final int MAX_ATTEMPTS = 200;
+
+    private final ContactsService contactsService = new ContactsService();
+    private final List<String> outcomes = new ArrayList<>();
+
+    /**
+     * Contra la API real los perfiles no aplican: el escenario queda salteado, no fallido.
+     */
+    @Given("que la API apunta al simulador local")
+    public void apuntaAlSimulador() {
+        if (!BaseApiService.targetsSimulator()) {
+            throw new TestAbortedException("Escenario solo para -Dapi.base.url=simulator.");
+        }
+    }
+
+    /**
+     * Altas sin token (un POST no lo reintenta el cliente HTTP, así cada intento es una decisión del simulador):
+     * sin falla responden 401, con falla el status del perfil o un corte de conexión.
+     *
+     * @param errorStatus status de error que se espera observar.
+     */
+    @When("envia altas de contacto sin token por API hasta observar un {int} y un corte de conexion")
+    public void enviaAltasHastaObservarFallas(int errorStatus) {
+        String expectedError = String.valueOf(errorStatus);
+        while (outcomes.size() < MAX_ATTEMPTS
+                && !(outcomes.contains(expectedError) && outcomes.contains(DROPPED))) {
+            outcomes.add(outcome());
+        }
+        assertThat(outcomes)
+                .as("Resultados de %d altas bajo el perfil %s", outcomes.size(), FaultInjection.currentProfile())
+                .contains(expectedError, DROPPED);
+    }
+
+    /**
+     * Recalcula cada intento con la semilla del simulador y lo compara con lo observado.
+     */
+    @Then("cada respuesta debe coincidir con la decision de la semilla del simulador")
+    public void cadaRespuestaCoincideConLaSemilla() {
+        FaultProfiles faults = ContactListSimulator.shared().faults();
+        List<String> expected = new ArrayList<>();
+        for (int attempt = 0; attempt < outcomes.size(); attempt++) {
+            FaultProfiles.Decision decision = faults.expected(FaultInjection.currentProfile(),
+                    FaultInjection.currentScenarioKey(), "POST", "/contacts", attempt);
+            expected.add(decision.drop() != FaultProfiles.Drop.NONE ? DROPPED
+                    : decision.errorStatus() > 0 ? String.valueOf(decision.errorStatus()) : UNAUTHORIZED);
+        }
+        assertThat(outcomes).as("Secuencia observada vs. semilla del simulador").isEqualTo(expected);
+    }
+
+    private String outcome() {
+        try {
+            return String.valueOf(contactsService.createContactWithoutToken(DataFactory.validApiContact()).statusCode());
+        } catch (RuntimeException connectionDropped) {
+            return DROPPED;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package stepdefinitions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import api.models.ContactResponse;
+import api.models.ResponseBodies;
+import api.services.ContactsService;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import io.restassured.response.Response;
+import java.util.List;
+import java.util.stream.Collectors;
+import utils.ContactSeeder;
+import utils.DataFactory;
+import utils.LatencyRecorder;
+import utils.ResourceRegistry;
+import utils.ScenarioContext;
+
+/**
+ * Step definitions de contratos de latencia (`@perf`).
+ * Las llamadas las mide {@link LatencyRecorder} desde el filtro de evidencia; acá solo se generan y se asertan.
+ */
+public class ApiPerformanceStepDefinitions {
+
+    private final ContactsService contactsService = new ContactsService();
+    private final ContactSeeder contactSeeder = new ContactSeeder();
+
+    /**
+     * Crea contactos en serie con el token del escenario; todos quedan registrados para la limpieza.
+     *
+     * @param calls cantidad de contactos a crear.
+     */
+    @When("crea {int} contactos por API")
+    public void creaContactosPorApi(int calls) {
+        String token = ScenarioContext.get("token", String.class);
+        assertThat(token).as("Se esperaba un token en el contexto del escenario").isNotBlank();
+
+        for (int call = 0; call < calls; call++) {
+            Response response = contactsService.createContact(DataFactory.validApiContact(), token);
+            assertThat(response.statusCode()).as("crear contacto %d de %d", call + 1, calls).isEqualTo(201);
+            ResourceRegistry.registerContact(ResponseBodies.contact(response).id(), token);
+        }
+    }
+
+    /**
+     * Siembra contactos en paralelo acotado con {@link ContactSeeder}; falla si alguno no se pudo crear.
+     *
+     * @param count cantidad de contactos a sembrar.
+     */
+    @Given("siembra {int} contactos por API")
+    public void siembraContactosPorApi(int count) {
+        String token = ScenarioContext.get("token", String.class);
+        assertThat(token).as("Se esperaba un token en el contexto del escenario").isNotBlank();
+
+        ContactSeeder.Result result = contactSeeder.seed(count, token);
+        ScenarioContext.set("seededContactIds", result.createdIds());
+        assertThat(result.failures()).as(result.summary()).isEmpty();
+    }
+
+    /**
+     * Verifica que el listado del usuario contenga todos los contactos sembrados.
+     */
+    @Then("el listado de contactos por API debe incluir los contactos sembrados")
+    public void listadoDebeIncluirLosContactosSembrados() {
+        String token = ScenarioContext.get("token", String.class);
+        @SuppressWarnings("unchecked")
+        List<String> seededIds = ScenarioContext.get("seededContactIds", List.class);
+        assertThat(seededIds).as("Se esperaban contactos sembrados en el contexto del escenario").isNotEmpty();
+
+        Response response = contactsService.listContacts(token);
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(ResponseBodies.contacts(response).stream().map(ContactResponse::id).collect(Collectors.toSet()))
+                .containsAll(seededIds);
+    }
+
+    /**
+     * Aserta un percentil sobre las últimas llamadas a un endpoint del escenario.
+     *
+     * @param percentile percentil, por ejemplo 95.
+     * @param endpoint método y path plantilla, por ejemplo `POST /contacts`.
+     * @param calls llamadas mínimas que deben haberse medido; el percentil se toma sobre las últimas.
+     * @param thresholdMs límite exclusivo en milisegundos.
+     */
+    @Then("el p{int} de latencia de {string} en {int} llamadas debe ser menor a {int} ms")
+    public void percentilDeLatenciaDebeSerMenorA(int percentile, String endpoint, int calls, int thresholdMs) {
+        LatencyRecorder.Distribution distribution = LatencyRecorder.distribution(endpoint, calls);
+        assertThat(distribution.count())
+                .as("llamadas medidas: %s", distribution.describe())
+                .isGreaterThanOrEqualTo(calls);
+        assertThat(distribution.percentileMs(percentile))
+                .as("p%d de %s debe ser menor a %d ms; medido: %s",
+                        percentile, endpoint, thresholdMs, distribution.describe())
+                .isLessThan(thresholdMs);
+    }
+
+    /**
+     * Aserta la duración de la última llamada API del escenario.
+     *
+     * @param thresholdMs límite exclusivo en milisegundos.
+     */
+    @Then("la ultima respuesta debe llegar en menos de {int} ms")
+    public void ultimaRespuestaDebeLlegarEnMenosDe(int thresholdMs) {
+        LatencyRecorder.Sample last = LatencyRecorder.last();
+        assertThat(last).as("El escenario no hizo llamadas API").isNotNull();
+        assertThat(last.elapsedMs())
+                .as("%s (status %s) debe responder en menos de %d ms; tardó %.1f ms",
+                        last.endpoint(), last.statusCode(), thresholdMs, last.elapsedMs())
+                .isLessThan(thresholdMs);
+    }
+}
@@ -1,36 +1,78 @@
 package stepdefinitions;
 
+import api.models.LoginRequest;
 import api.services.AuthService;
+import api.services.BaseApiService;
 import api.services.ContactsService;
+import api.simulator.ContactListSimulator;
+import api.simulator.FaultInjection;
 import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
 import io.cucumber.java.AfterStep;
 import io.cucumber.java.Before;
+import io.cucumber.java.BeforeAll;
 import io.cucumber.java.Scenario;
-import io.github.bonigarcia.wdm.WebDriverManager;
-import net.serenitybdd.screenplay.actors.OnStage;
-import net.serenitybdd.screenplay.actors.OnlineCast;
+import io.restassured.response.Response;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.serenitybdd.core.Serenity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ApiCassette;
 import utils.ApiEvidenceFilter;
+import utils.ApiMetrics;
+import utils.AuthTokenCache;
+import utils.CleanupQueue;
+import utils.DataFactory;
+import utils.EvidenceSpool;
+import utils.LatencyRecorder;
+import utils.ResourceRegistry;
 import utils.ScenarioContext;
+import utils.UiStage;
 
 /**
  * Hooks globales de Cucumber.
- * Inicializa contexto/actor, adjunta evidencia API y ejecuta limpieza best-effort.
+ * Inicializa contexto, adjunta evidencia API y encola la limpieza best-effort en {@link CleanupQueue}.
+ * El navegador y el stage Screenplay se montan bajo demanda desde los steps UI ({@link UiStage}).
  */
 public class Hooks {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(Hooks.class);
+
     private final ContactsService contactsService = new ContactsService();
     private final AuthService authService = new AuthService();
+    private long scenarioStartedAt;
+
+    /**
+     * Al empezar la suite: descarta las métricas API de la corrida anterior.
+     */
+    @BeforeAll
+    public static void startRun() {
+        ApiMetrics.startRun();
+    }
 
     /**
      * Configuración previa a cada escenario.
-     * Habilita WebDriver, limpia contexto y prepara el escenario Screenplay.
+     * Limpia contexto y evidencia; no toca WebDriver para no penalizar escenarios API.
+     *
+     * @param scenario escenario que va a ejecutarse.
      */
     @Before
-    public void setUp() {
-        WebDriverManager.chromedriver().setup();
+    public void setUp(Scenario scenario) {
         ScenarioContext.clear();
+        ResourceRegistry.clear();
         ApiEvidenceFilter.clear();
-        OnStage.setTheStage(new OnlineCast());
+        LatencyRecorder.startScenario();
+        EvidenceSpool.startScenario(scenario.getName());
+        ApiCassette.startScenario(scenario.getUri(), scenario.getName(), scenario.getLine());
+        if (ApiCassette.recording() || ApiCassette.replaying()) {
+            AuthTokenCache.clear();
+        }
+        FaultInjection.begin(scenario.getSourceTagNames(), scenario.getUri() + ":" + scenario.getLine());
+        DataFactory.startStream(scenario.getUri() + ":" + scenario.getLine());
+        scenarioStartedAt = System.nanoTime();
     }
 
     /**
@@ -41,12 +83,36 @@ public class Hooks {
      */
     @After
     public void tearDown(Scenario scenario) {
-        attachApiEvidenceIfNeeded(scenario);
-        cleanupContactIfPresent();
-        cleanupUserIfPresent();
-        ApiEvidenceFilter.clear();
-        ScenarioContext.clear();
-        OnStage.drawTheCurtain();
+        try {
+            recordReplaySeeds(scenario);
+            ApiMetrics.recordScenario(scenario.getUri() + ":" + scenario.getLine(), scenario.getName(),
+                    (System.nanoTime() - scenarioStartedAt) / 1_000);
+            attachApiEvidenceIfNeeded(scenario);
+            ApiMetrics.attachScenarioToSerenity();
+            ApiCassette.endScenario();
+            if (!ApiCassette.replaying()) {
+                enqueueOwnedResourcesCleanup(scenario);
+            }
+        } finally {
+            resetScenarioState(scenario);
+        }
+    }
+
+    /**
+     * Limpia el estado por hilo y devuelve la sesión del navegador aunque el resto del teardown haya fallado:
+     * si no, el worker abriría sesiones de más en el próximo escenario UI.
+     */
+    private void resetScenarioState(Scenario scenario) {
+        try {
+            ResourceRegistry.clear();
+            ApiEvidenceFilter.clear();
+            LatencyRecorder.clear();
+            EvidenceSpool.endScenario();
+            FaultInjection.end();
+            ScenarioContext.clear();
+        } finally {
+            UiStage.drawTheCurtain(scenario.isFailed());
+        }
     }
 
     /**
@@ -61,6 +127,24 @@ public class Hooks {
         }
     }
 
+    /**
+     * Deja en el reporte Serenity las semillas para repetir el escenario: `data.seed` y, contra el simulador,
+     * `api.simulator.seed`. La secuencia de datos se deriva además de `uri:línea`, que también queda anotada.
+     */
+    private void recordReplaySeeds(Scenario scenario) {
+        StringBuilder contents = new StringBuilder()
+                .append("-Ddata.seed=").append(DataFactory.seed()).append(System.lineSeparator());
+        if (BaseApiService.targetsSimulator()) {
+            contents.append("-Dapi.simulator.seed=").append(ContactListSimulator.shared().faults().seed())
+                    .append(System.lineSeparator());
+        }
+        contents.append("Escenario: ").append(scenario.getUri()).append(':').append(scenario.getLine());
+        Serenity.recordReportData()
+                .asEvidence()
+                .withTitle("Replay seeds")
+                .andContents(contents.toString());
+    }
+
     /**
      * Adjunta evidencia API según modo configurado:
      * - `on-failure` (default): solo último intercambio fallido.
@@ -78,37 +162,58 @@ public class Hooks {
     }
 
     /**
-     * Limpieza best-effort de contacto creado en el escenario.
-     * Evita dependencias entre ejecuciones en ambientes volátiles.
+     * Al terminar la suite: informa la semilla de datos, escribe las métricas API antes de drenar la cola de
+     * limpieza (con su reporte de fallos) y guarda los cassettes grabados (o reporta los requests sin grabación en replay).
      */
-    private void cleanupContactIfPresent() {
-        String token = ScenarioContext.get("token", String.class);
-        String contactId = ScenarioContext.get("contactId", String.class);
+    @AfterAll
+    public static void finishRun() {
+        LOGGER.info("data.seed={}", DataFactory.seed());
+        ApiMetrics.writeReport();
+        CleanupQueue.drain();
+        ApiCassette.finish();
+    }
 
-        if (token == null || token.isBlank() || contactId == null || contactId.isBlank()) {
-            return;
+    /**
+     * Encola la limpieza de lo que el escenario creó según {@link ResourceRegistry}.
+     * Solo toca recursos propios; la cuenta compartida `auth.email` nunca se elimina.
+     */
+    private void enqueueOwnedResourcesCleanup(Scenario scenario) {
+        List<CleanupQueue.Deletion> deletions = new ArrayList<>();
+        Map<String, String> renewedTokens = new HashMap<>();
+        for (ResourceRegistry.OwnedContact contact : ResourceRegistry.contacts()) {
+            deletions.add(new CleanupQueue.Deletion(
+                    "contacto " + contact.id(),
+                    () -> deleteContact(contact, renewedTokens)));
         }
 
-        try {
-            contactsService.deleteContact(contactId, token);
-        } catch (Exception ignored) {
-            // Best-effort cleanup.
+        for (ResourceRegistry.OwnedUser user : ResourceRegistry.users()) {
+            deletions.add(new CleanupQueue.Deletion("usuario " + user.email(), () -> deleteUser(user)));
         }
+        CleanupQueue.enqueue(scenario.getName(), deletions);
     }
 
     /**
-     * Limpieza best-effort del usuario autenticado en contexto.
+     * El lote corre en un hilo de limpieza, sin la caché de tokens del worker: si el token murió
+     * (logout o usuario eliminado en un escenario posterior), se vuelve a loguear una vez por lote.
      */
-    private void cleanupUserIfPresent() {
-        String token = ScenarioContext.get("token", String.class);
-        if (token == null || token.isBlank()) {
-            return;
+    private Response deleteContact(ResourceRegistry.OwnedContact contact, Map<String, String> renewedTokens) {
+        Response response = contactsService.deleteContact(contact.id(), contact.token());
+        if (response.statusCode() != 401 || contact.relogin() == null) {
+            return response;
         }
+        String token = renewedTokens.computeIfAbsent(contact.token(), rejected -> contact.relogin().get());
+        return contactsService.deleteContact(contact.id(), token);
+    }
 
-        try {
-            authService.deleteCurrentUser(token);
-        } catch (Exception ignored) {
-            // Best-effort cleanup.
+    private Response deleteUser(ResourceRegistry.OwnedUser user) {
+        if (user.token() != null) {
+            return authService.deleteCurrentUser(user.token());
+        }
+        Response loginResponse = authService.login(new LoginRequest(user.email(), user.password()));
+        String token = loginResponse.jsonPath().getString("token");
+        if (token == null || token.isBlank()) {
+            return loginResponse;
         }
+        return authService.deleteCurrentUser(token);
     }
 }
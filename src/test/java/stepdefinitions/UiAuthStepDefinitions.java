@@ -11,7 +11,6 @@ import io.cucumber.java.en.When;
 import java.time.Duration;
 import net.serenitybdd.screenplay.Actor;
 import net.serenitybdd.screenplay.actions.Open;
-import net.serenitybdd.screenplay.actors.OnStage;
 import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import ui.models.UserCredentials;
@@ -20,6 +19,7 @@ import ui.questions.ContactListIsVisible;
 import ui.tasks.Login;
 import ui.tasks.SubmitEmptyLoginForm;
 import utils.AuthProperties;
+import utils.UiStage;
 
 /**
  * Steps de autenticacion UI.
@@ -40,7 +40,7 @@ public class UiAuthStepDefinitions {
         AuthProperties.ensureConfiguredUserCanLogin(authService);
         validUser = AuthProperties.configuredUserCredentials();
 
-        actor = OnStage.theActorCalled("UsuarioUI");
+        actor = UiStage.theActorCalled("UsuarioUI");
         actor.attemptsTo(Open.url(resolveBaseUrl()));
     }
 
@@ -121,6 +121,6 @@ public class UiAuthStepDefinitions {
         if (actor != null) {
             return actor;
         }
-        return OnStage.theActorInTheSpotlight();
+        return UiStage.theActorInTheSpotlight();
     }
 }
@@ -15,7 +15,6 @@ import java.time.Duration;
 import net.serenitybdd.screenplay.Actor;
 import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
 import net.serenitybdd.screenplay.actions.Open;
-import net.serenitybdd.screenplay.actors.OnStage;
 import net.serenitybdd.screenplay.waits.WaitUntil;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import ui.models.Contact;
@@ -34,6 +33,7 @@ import ui.tasks.SubmitEmptyContactForm;
 import utils.AuthProperties;
 import utils.DataFactory;
 import utils.ScenarioContext;
+import utils.UiStage;
 
 /**
  * Steps UI para el ciclo de vida de contactos.
@@ -52,7 +52,7 @@ public class UiContactsStepDefinitions {
         AuthProperties.ensureConfiguredUserCanLogin(authService);
         UserCredentials user = AuthProperties.configuredUserCredentials();
 
-        actor = OnStage.theActorCalled("GestorContactos");
+        actor = UiStage.theActorCalled("GestorContactos");
         actor.attemptsTo(
                 Open.url(resolveBaseUrl()),
                 Login.with(user.getEmail(), user.getPassword())
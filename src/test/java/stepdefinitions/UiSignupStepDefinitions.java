@@ -14,13 +14,14 @@ import java.util.Locale;
 import net.serenitybdd.screenplay.Actor;
 import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
 import net.serenitybdd.screenplay.actions.Open;
-import net.serenitybdd.screenplay.actors.OnStage;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import ui.models.UserCredentials;
 import ui.tasks.SignUp;
 import utils.DataFactory;
+import utils.ResourceRegistry;
+import utils.UiStage;
 
 /**
  * Step definitions para registro de usuario en UI.
@@ -28,7 +29,11 @@ import utils.DataFactory;
  */
 public class UiSignupStepDefinitions {
 
-    private static final int SIGNUP_MAX_ATTEMPTS = 10;
+    /**
+     * Los correos de {@link DataFactory} no se repiten entre hilos, forks ni corridas; el reintento
+     * solo cubre un `-Ddata.run.id` reutilizado a mano.
+     */
+    private static final int SIGNUP_MAX_ATTEMPTS = 2;
 
     private final AuthService authService = new AuthService();
     private Actor actor;
@@ -40,7 +45,7 @@ public class UiSignupStepDefinitions {
      */
     @Given("que el usuario esta en la pantalla de registro")
     public void usuarioEnPantallaRegistro() {
-        actor = OnStage.theActorCalled("UsuarioSignup");
+        actor = UiStage.theActorCalled("UsuarioSignup");
         actor.attemptsTo(Open.url(resolveBaseUrl() + "addUser"));
     }
 
@@ -111,6 +116,7 @@ public class UiSignupStepDefinitions {
 
             waitForSignupResult();
             if (isInContactList()) {
+                ResourceRegistry.registerUser(candidate.getEmail(), candidate.getPassword(), null);
                 return candidate;
             }
 
@@ -148,6 +154,11 @@ public class UiSignupStepDefinitions {
 
             Response signupResponse = authService.signUp(signupRequest);
             if (signupResponse.statusCode() == 201) {
+                ResourceRegistry.registerUser(
+                        candidate.getEmail(),
+                        candidate.getPassword(),
+                        signupResponse.jsonPath().getString("token")
+                );
                 return candidate;
             }
 
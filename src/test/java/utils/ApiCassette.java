@@ -0,0 +1,510 @@
+package utils;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.internal.RestAssuredResponseImpl;
+import io.restassured.internal.log.LogRepository;
+import io.restassured.response.Response;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Grabación y reproducción de la API por feature (`-Dapi.cassette.mode=record|replay`).
+ * En `record` cada escenario guarda sus intercambios en un cassette JSON por feature; en `replay`
+ * {@link ApiEvidenceFilter} responde desde el cassette sin red. El match es por método, path plantilla
+ * y body normalizado (claves ordenadas, campos generados por {@link DataFactory} enmascarados); los valores
+ * enmascarados que cambian entre corridas se sustituyen en las respuestas grabadas.
+ * Esos valores no llegan al archivo: se graban como marcadores (`{{password#2}}`), en el request y en las respuestas.
+ */
+public final class ApiCassette {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ApiCassette.class);
+
+    private static final String MODE_PROPERTY = "api.cassette.mode";
+    private static final String DIR_PROPERTY = "api.cassette.dir";
+    private static final String IGNORE_FIELDS_PROPERTY = "api.cassette.ignore.fields";
+    private static final String REPORT_PROPERTY = "api.cassette.report";
+
+    private static final String MODE = RunProperties.value(MODE_PROPERTY, "off").toLowerCase(Locale.ROOT);
+    private static final boolean RECORDING = "record".equals(MODE);
+    private static final boolean REPLAYING = "replay".equals(MODE);
+    private static final Path DIR = Path.of(RunProperties.value(DIR_PROPERTY, "src/test/resources/cassettes"));
+    private static final Path REPORT_FILE = Path.of(RunProperties.value(REPORT_PROPERTY, "target/cassette-unmatched.txt"));
+    private static final Set<String> IGNORED_FIELDS = Set.copyOf(Arrays.asList(RunProperties.value(
+            IGNORE_FIELDS_PROPERTY,
+            "email,password,firstName,lastName,birthdate,phone,street1,street2,city,stateProvince,postalCode,country")
+            .split("\\s*,\\s*")));
+    private static final String MASK = "*";
+    private static final Pattern SCENARIO_HEADER = Pattern.compile(
+            "^\\s*(Scenario Outline|Scenario Template|Scenario|Example)\\s*:\\s*(.*?)\\s*$");
+    private static final Pattern EXAMPLES_HEADER = Pattern.compile("^\\s*(Examples|Scenarios)\\s*:.*$");
+
+    private static final ObjectMapper CANONICAL = new ObjectMapper()
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+    private static final ObjectMapper FILE_MAPPER = new ObjectMapper()
+            .setDefaultPropertyInclusion(JsonInclude.Value.construct(
+                    JsonInclude.Include.NON_NULL, JsonInclude.Include.NON_NULL));
+    private static final TypeReference<Map<String, List<Interaction>>> CASSETTE_FORMAT = new TypeReference<>() {
+    };
+
+    private static final ThreadLocal<Tape> CURRENT = new ThreadLocal<>();
+    private static final Map<Path, Cassette> CASSETTES = new ConcurrentHashMap<>();
+    private static final Queue<String> UNMATCHED = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Utilidad estática, no instanciable.
+     */
+    private ApiCassette() {
+    }
+
+    /**
+     * @return `true` con `-Dapi.cassette.mode=record`.
+     */
+    public static boolean recording() {
+        return RECORDING;
+    }
+
+    /**
+     * @return `true` con `-Dapi.cassette.mode=replay`: no sale nada a la red.
+     */
+    public static boolean replaying() {
+        return REPLAYING;
+    }
+
+    /**
+     * Asocia el hilo actual al cassette del feature. La clave del escenario es su nombre más el número
+     * de aparición de ese nombre en el feature (`Login#0`): no cambia si se corren líneas ni con subconjuntos.
+     *
+     * @param featureUri URI del feature (por ejemplo `classpath:features/api/auth_api.feature`).
+     * @param scenarioName nombre del escenario.
+     * @param line línea del escenario (o de su fila de ejemplos) en el feature.
+     */
+    public static void startScenario(URI featureUri, String scenarioName, int line) {
+        if (!RECORDING && !REPLAYING) {
+            return;
+        }
+        Path file = cassetteFile(featureUri);
+        String scenarioKey = scenarioName + "#" + occurrence(featureUri, line);
+        CURRENT.set(new Tape(CASSETTES.computeIfAbsent(file, Cassette::load), scenarioKey));
+    }
+
+    /**
+     * En `record` reemplaza la grabación del escenario con lo capturado; siempre desasocia el hilo.
+     */
+    public static void endScenario() {
+        Tape tape = CURRENT.get();
+        CURRENT.remove();
+        if (tape != null && RECORDING) {
+            tape.cassette().put(tape.scenarioKey(), tape.recorded());
+        }
+    }
+
+    /**
+     * Guarda un intercambio del escenario actual.
+     *
+     * @param method método HTTP.
+     * @param path path definido por el request (plantilla o crudo).
+     * @param requestBody body tal como lo ve el filtro.
+     * @param status status de la respuesta.
+     * @param contentType content type de la respuesta.
+     * @param responseBody bytes completos de la respuesta.
+     */
+    public static void record(String method, String path, Object requestBody, int status, String contentType,
+                              byte[] responseBody) {
+        Tape tape = CURRENT.get();
+        if (tape == null) {
+            return;
+        }
+        String request = tape.withPlaceholders(canonical(requestBody), true);
+        String body = responseBody == null ? "" : new String(responseBody, StandardCharsets.UTF_8);
+        tape.recorded().add(new Interaction(method, ApiMetrics.templatePath(path), request, status,
+                contentType == null || contentType.isBlank() ? null : contentType, tape.withPlaceholders(body, false)));
+    }
+
+    /**
+     * Responde desde el cassette. Primero busca en las grabaciones del escenario, en orden
+     * (si se piden más veces de las grabadas se repite la última); si no, en cualquier escenario del feature.
+     *
+     * @param method método HTTP.
+     * @param path path definido por el request.
+     * @param requestBody body tal como lo ve el filtro.
+     * @return respuesta grabada, con los valores enmascarados sustituidos por los de esta corrida.
+     * @throws IllegalStateException si no hay grabación; queda además en el reporte de no encontrados.
+     */
+    public static Response replay(String method, String path, Object requestBody) {
+        String templatedPath = ApiMetrics.templatePath(path);
+        Object body = parse(canonical(requestBody));
+        String key = matchKey(method, templatedPath, body);
+        Tape tape = CURRENT.get();
+        Interaction interaction = tape == null ? null : tape.next(key);
+        if (interaction == null) {
+            String where = tape == null ? "<fuera de escenario>" : tape.cassette().file() + " | " + tape.scenarioKey();
+            String missing = where + " | " + key;
+            UNMATCHED.add(missing);
+            throw new IllegalStateException("Sin grabación en el cassette: " + missing);
+        }
+        tape.learnSubstitutions(parse(interaction.request()), body);
+        Response response = new ResponseBuilder()
+                .setStatusCode(interaction.status())
+                .setStatusLine("HTTP/1.1 " + interaction.status())
+                .setContentType(interaction.contentType() == null ? "" : interaction.contentType())
+                .setBody(tape.substitute(interaction.body()).getBytes(StandardCharsets.UTF_8))
+                .build();
+        // `then().log()` de los services necesita el repositorio de logs que normalmente pone el envío real.
+        if (response instanceof RestAssuredResponseImpl builtResponse) {
+            builtResponse.setLogRepository(new LogRepository());
+        }
+        return response;
+    }
+
+    /**
+     * Al terminar la suite: escribe los cassettes grabados y reporta los requests sin grabación.
+     *
+     * @return requests sin grabación en `replay`.
+     */
+    public static List<String> finish() {
+        if (RECORDING) {
+            CASSETTES.values().forEach(Cassette::save);
+        }
+        List<String> unmatched = List.copyOf(UNMATCHED);
+        if (unmatched.isEmpty()) {
+            return unmatched;
+        }
+        LOGGER.warn("cassette unmatched={}", unmatched.size());
+        unmatched.forEach(missing -> LOGGER.warn("cassette unmatched: {}", missing));
+        try {
+            if (REPORT_FILE.getParent() != null) {
+                Files.createDirectories(REPORT_FILE.getParent());
+            }
+            Files.write(REPORT_FILE, unmatched, StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            LOGGER.warn("No se pudo escribir {}: {}", REPORT_FILE, exception.getMessage());
+        }
+        return unmatched;
+    }
+
+    /**
+     * `features/api/auth_api.feature` -> `<dir>/api/auth_api.json`.
+     */
+    private static Path cassetteFile(URI featureUri) {
+        String path = featureUri.getSchemeSpecificPart();
+        int features = path.lastIndexOf("features/");
+        String relative = features < 0 ? path.substring(path.lastIndexOf('/') + 1) : path.substring(features + 9);
+        return DIR.resolve(relative.replaceAll("\\.feature$", "") + ".json");
+    }
+
+    /**
+     * Cuántos casos con el mismo encabezado hay antes de `line` en el feature: un escenario cuenta por su
+     * encabezado y un outline por cada fila de ejemplos. Si no se puede leer el feature, 0.
+     */
+    private static int occurrence(URI featureUri, int line) {
+        List<String> lines = featureLines(featureUri);
+        String header = null;
+        boolean outline = false;
+        boolean examplesHeaderRow = false;
+        Map<String, Integer> seen = new HashMap<>();
+        int occurrence = 0;
+        for (int number = 1; number <= Math.min(line, lines.size()); number++) {
+            String text = lines.get(number - 1);
+            Matcher scenario = SCENARIO_HEADER.matcher(text);
+            boolean caseLine = false;
+            if (scenario.matches()) {
+                header = scenario.group(2);
+                outline = scenario.group(1).startsWith("Scenario ");
+                caseLine = !outline;
+            } else if (EXAMPLES_HEADER.matcher(text).matches()) {
+                examplesHeaderRow = true;
+            } else if (outline && text.trim().startsWith("|")) {
+                caseLine = !examplesHeaderRow;
+                examplesHeaderRow = false;
+            }
+            if (caseLine && header != null) {
+                occurrence = seen.merge(header, 1, Integer::sum) - 1;
+            }
+        }
+        return occurrence;
+    }
+
+    private static List<String> featureLines(URI featureUri) {
+        try {
+            if ("classpath".equals(featureUri.getScheme())) {
+                try (InputStream stream = Thread.currentThread().getContextClassLoader()
+                        .getResourceAsStream(featureUri.getSchemeSpecificPart().replaceFirst("^/", ""))) {
+                    if (stream == null) {
+                        return List.of();
+                    }
+                    try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+                        return reader.lines().toList();
+                    }
+                }
+            }
+            return Files.readAllLines(Path.of(featureUri), StandardCharsets.UTF_8);
+        } catch (IOException | IllegalArgumentException | FileSystemNotFoundException unreadable) {
+            return List.of();
+        }
+    }
+
+    private static String matchKey(String method, String templatedPath, Object body) {
+        String normalized = body == null ? "" : " " + write(mask(body));
+        return method.toUpperCase(Locale.ROOT) + " " + templatedPath + normalized;
+    }
+
+    /**
+     * Body como JSON canónico (claves ordenadas, sin espacios), o `null` si no hay body.
+     */
+    private static String canonical(Object body) {
+        if (body == null) {
+            return null;
+        }
+        String text = body instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : null;
+        try {
+            Object tree = body instanceof String value ? CANONICAL.readValue(value, Object.class)
+                    : text != null ? CANONICAL.readValue(text, Object.class)
+                    : CANONICAL.convertValue(body, Object.class);
+            return tree == null ? null : write(tree);
+        } catch (IOException | IllegalArgumentException notJson) {
+            return body instanceof String value ? value : text != null ? text : String.valueOf(body);
+        }
+    }
+
+    private static Object parse(String canonical) {
+        if (canonical == null) {
+            return null;
+        }
+        try {
+            return CANONICAL.readValue(canonical, Object.class);
+        } catch (IOException notJson) {
+            return canonical;
+        }
+    }
+
+    private static String write(Object tree) {
+        try {
+            return CANONICAL.writeValueAsString(tree);
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static Object mask(Object node) {
+        if (node instanceof Map<?, ?> map) {
+            Map<String, Object> masked = new TreeMap<>();
+            map.forEach((field, value) -> masked.put(String.valueOf(field),
+                    IGNORED_FIELDS.contains(String.valueOf(field)) && !(value instanceof Map || value instanceof List)
+                            ? MASK : mask(value)));
+            return masked;
+        }
+        if (node instanceof List<?> list) {
+            return list.stream().map(ApiCassette::mask).toList();
+        }
+        return node;
+    }
+
+    /**
+     * Intercambio grabado. `request` es el body canónico con marcadores en los campos enmascarados,
+     * para aprender sustituciones (cassettes viejos pueden traer los valores reales; también sirven).
+     */
+    private record Interaction(String method, String path, String request, int status, String contentType,
+                               String body) {
+
+        private String key() {
+            return matchKey(method, path, parse(request));
+        }
+    }
+
+    /**
+     * Estado del escenario en curso: lo grabado, el avance por clave, las sustituciones aprendidas
+     * y, al grabar, el marcador de cada valor enmascarado.
+     */
+    private record Tape(Cassette cassette, String scenarioKey, List<Interaction> recorded,
+                        Map<String, Integer> cursors, Map<String, String> substitutions,
+                        Map<String, String> placeholders) {
+
+        private Tape(Cassette cassette, String scenarioKey) {
+            this(cassette, scenarioKey, new ArrayList<>(), new HashMap<>(), new LinkedHashMap<>(), new HashMap<>());
+        }
+
+        /**
+         * Reemplaza los valores de los campos enmascarados de un request por marcadores estables dentro del escenario;
+         * en las respuestas solo se marcan valores ya enviados (por ejemplo el correo en un GET posterior).
+         */
+        private String withPlaceholders(String canonicalBody, boolean request) {
+            if (canonicalBody == null || canonicalBody.isEmpty()) {
+                return canonicalBody;
+            }
+            Object tree = parse(canonicalBody);
+            if (tree instanceof String) {
+                return canonicalBody;
+            }
+            return write(placeholders(tree, request));
+        }
+
+        private Object placeholders(Object node, boolean request) {
+            if (node instanceof Map<?, ?> map) {
+                Map<String, Object> replaced = new LinkedHashMap<>();
+                map.forEach((field, value) -> {
+                    String name = String.valueOf(field);
+                    if (request && IGNORED_FIELDS.contains(name) && value instanceof String text && !text.isEmpty()) {
+                        replaced.put(name, placeholders.computeIfAbsent(text,
+                                ignored -> "{{" + name + "#" + (placeholders.size() + 1) + "}}"));
+                    } else {
+                        replaced.put(name, placeholders(value, request));
+                    }
+                });
+                return replaced;
+            }
+            if (node instanceof List<?> list) {
+                return list.stream().map(item -> placeholders(item, request)).toList();
+            }
+            return node instanceof String text ? placeholders.getOrDefault(text, text) : node;
+        }
+
+        private Interaction next(String key) {
+            List<Interaction> own = cassette.scenarioIndex(scenarioKey).get(key);
+            if (own != null && !own.isEmpty()) {
+                int position = cursors.merge(key, 1, Integer::sum) - 1;
+                return own.get(Math.min(position, own.size() - 1));
+            }
+            return cassette.featureIndex().get(key);
+        }
+
+        /**
+         * Los campos enmascarados que difieren entre lo grabado y lo enviado ahora se sustituyen en las respuestas.
+         */
+        private void learnSubstitutions(Object recorded, Object current) {
+            if (recorded instanceof Map<?, ?> recordedMap && current instanceof Map<?, ?> currentMap) {
+                recordedMap.forEach((field, value) -> {
+                    Object now = currentMap.get(field);
+                    if (IGNORED_FIELDS.contains(String.valueOf(field)) && value instanceof String before
+                            && now instanceof String after && !before.isEmpty() && !before.equals(after)) {
+                        substitutions.put(before, after);
+                    } else {
+                        learnSubstitutions(value, now);
+                    }
+                });
+            }
+        }
+
+        private String substitute(String body) {
+            if (substitutions.isEmpty() || body.isEmpty()) {
+                return body;
+            }
+            Object tree = parse(body);
+            if (tree instanceof String text) {
+                return substitutions.getOrDefault(text, text);
+            }
+            return write(replaceValues(tree));
+        }
+
+        private Object replaceValues(Object node) {
+            if (node instanceof Map<?, ?> map) {
+                Map<Object, Object> replaced = new LinkedHashMap<>();
+                map.forEach((field, value) -> replaced.put(field, replaceValues(value)));
+                return replaced;
+            }
+            if (node instanceof List<?> list) {
+                return list.stream().map(this::replaceValues).toList();
+            }
+            return node instanceof String text ? substitutions.getOrDefault(text, text) : node;
+        }
+    }
+
+    /**
+     * Cassette de un feature: `{ "escenario": [intercambios en orden] }`. Los índices por clave
+     * se arman al cargar, así cada request se resuelve con un lookup.
+     */
+    private static final class Cassette {
+
+        private final Path file;
+        private final Map<String, List<Interaction>> scenarios;
+        private final Map<String, Map<String, List<Interaction>>> scenarioIndex = new ConcurrentHashMap<>();
+        private volatile Map<String, Interaction> featureIndex;
+
+        private Cassette(Path file, Map<String, List<Interaction>> scenarios) {
+            this.file = file;
+            this.scenarios = scenarios;
+        }
+
+        private static Cassette load(Path file) {
+            Map<String, List<Interaction>> scenarios = new TreeMap<>();
+            if (Files.exists(file)) {
+                try {
+                    scenarios.putAll(FILE_MAPPER.readValue(file.toFile(), CASSETTE_FORMAT));
+                } catch (IOException exception) {
+                    throw new IllegalStateException("No se pudo leer el cassette " + file + ".", exception);
+                }
+            } else if (REPLAYING) {
+                LOGGER.warn("cassette inexistente: {}", file);
+            }
+            return new Cassette(file, scenarios);
+        }
+
+        private Path file() {
+            return file;
+        }
+
+        private synchronized void put(String scenarioKey, List<Interaction> interactions) {
+            scenarios.put(scenarioKey, List.copyOf(interactions));
+        }
+
+        private Map<String, List<Interaction>> scenarioIndex(String scenarioKey) {
+            return scenarioIndex.computeIfAbsent(scenarioKey, key -> {
+                synchronized (this) {
+                    return scenarios.getOrDefault(key, List.of()).stream()
+                            .collect(Collectors.groupingBy(Interaction::key));
+                }
+            });
+        }
+
+        private Map<String, Interaction> featureIndex() {
+            Map<String, Interaction> index = featureIndex;
+            if (index == null) {
+                synchronized (this) {
+                    Map<String, Interaction> built = new HashMap<>();
+                    scenarios.values().forEach(interactions ->
+                            interactions.forEach(interaction -> built.putIfAbsent(interaction.key(), interaction)));
+                    featureIndex = index = built;
+                }
+            }
+            return index;
+        }
+
+        private synchronized void save() {
+            try {
+                if (file.getParent() != null) {
+                    Files.createDirectories(file.getParent());
+                }
+                FILE_MAPPER.writeValue(file.toFile(), scenarios);
+            } catch (IOException exception) {
+                LOGGER.warn("No se pudo escribir el cassette {}: {}", file, exception.getMessage());
+            }
+        }
+    }
+}
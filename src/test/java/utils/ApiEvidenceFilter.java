@@ -4,13 +4,18 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import io.restassured.filter.Filter;
 import io.restassured.filter.FilterContext;
-import io.restassured.http.Header;
+import io.restassured.http.Headers;
 import io.restassured.response.Response;
 import io.restassured.specification.FilterableRequestSpecification;
 import io.restassured.specification.FilterableResponseSpecification;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.stream.Collectors;
@@ -19,13 +24,37 @@ import net.serenitybdd.core.Serenity;
 /**
  * Filtro de Rest Assured para capturar evidencia técnica de llamadas API.
  * Registra request/response en memoria por escenario y la expone para Serenity.
+ * Por defecto la captura es perezosa: guarda bytes y headers crudos y solo formatea, enmascara
+ * y renderiza cuando la evidencia se adjunta (`-Dapi.evidence.capture=eager` formatea al capturar).
+ * La memoria por escenario es acotada: se conservan los primeros N y los últimos M intercambios dentro de
+ * un presupuesto de bytes, los bodies grandes se truncan y lo descartado se cuenta en el reporte.
+ * También graba y reproduce intercambios según {@link ApiCassette}.
+ * Las llamadas asíncronas entran por {@link #asyncScope()}: la evidencia queda en el escenario que las lanzó.
  */
 public class ApiEvidenceFilter implements Filter {
 
     private static final String EVIDENCE_MODE_PROPERTY = "api.evidence.mode";
     private static final String EVIDENCE_MODE_ALWAYS = "always";
+    private static final String CAPTURE_MODE_PROPERTY = "api.evidence.capture";
+    private static final String CAPTURE_MODE_EAGER = "eager";
+    private static final boolean EAGER_CAPTURE = CAPTURE_MODE_EAGER.equalsIgnoreCase(
+            RunProperties.value(CAPTURE_MODE_PROPERTY, "lazy").trim());
 
-    private static final ThreadLocal<List<ApiExchange>> EXCHANGES = ThreadLocal.withInitial(ArrayList::new);
+    private static final String KEEP_FIRST_PROPERTY = "api.evidence.keep.first";
+    private static final String KEEP_LAST_PROPERTY = "api.evidence.keep.last";
+    private static final String MAX_BYTES_PROPERTY = "api.evidence.max.bytes";
+    private static final String BODY_MAX_BYTES_PROPERTY = "api.evidence.body.max.bytes";
+
+    private static final int KEEP_FIRST = Math.max(0, RunProperties.intValue(KEEP_FIRST_PROPERTY, 5));
+    private static final int KEEP_LAST = Math.max(1, RunProperties.intValue(KEEP_LAST_PROPERTY, 20));
+    private static final long MAX_BYTES = Math.max(1, RunProperties.longValue(MAX_BYTES_PROPERTY, 4L * 1024 * 1024));
+    private static final int BODY_MAX_BYTES = Math.max(1, RunProperties.intValue(BODY_MAX_BYTES_PROPERTY, 64 * 1024));
+    /**
+     * Costo fijo estimado por intercambio (referencias, método, URI), además de los bodies.
+     */
+    private static final int EXCHANGE_OVERHEAD_BYTES = 512;
+
+    private static final ThreadLocal<ExchangeBuffer> EXCHANGES = ThreadLocal.withInitial(ExchangeBuffer::new);
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
 
     /**
@@ -34,49 +63,70 @@ public class ApiEvidenceFilter implements Filter {
      * @param requestSpec request en construcción.
      * @param responseSpec spec de respuesta (no usado directamente).
      * @param filterContext contexto encadenado de filtros Rest Assured.
-     * @return respuesta original de la llamada.
+     * @return respuesta original de la llamada, o la grabada en modo replay.
      */
     @Override
     public Response filter(FilterableRequestSpecification requestSpec,
                            FilterableResponseSpecification responseSpec,
                            FilterContext filterContext) {
-        String requestMethod = requestSpec.getMethod();
-        String requestUri = requestSpec.getURI();
-        String requestHeaders = formatHeaders(requestSpec.getHeaders().asList(), true);
-        String requestBody = formatBody(requestSpec.getBody());
-        long startedAt = System.currentTimeMillis();
-        String timestamp = OffsetDateTime.now().format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+        RequestSnapshot request = new RequestSnapshot(
+                System.currentTimeMillis(),
+                requestSpec.getMethod(),
+                requestSpec.getURI(),
+                requestSpec.getHeaders(),
+                BodySnapshot.of(requestSpec.getBody())
+        );
+        long startedAt = System.nanoTime();
 
         try {
-            Response response = filterContext.next(requestSpec, responseSpec);
-            ApiExchange exchange = ApiExchange.success(
-                    timestamp,
-                    requestMethod,
-                    requestUri,
-                    requestHeaders,
-                    requestBody,
+            Response response = ApiCassette.replaying()
+                    ? ApiCassette.replay(request.method(), requestSpec.getUserDefinedPath(), requestSpec.getBody())
+                    : filterContext.next(requestSpec, responseSpec);
+            long elapsedNanos = System.nanoTime() - startedAt;
+            byte[] responseBytes = response.getBody() == null ? null : response.getBody().asByteArray();
+            BodySnapshot responseBody = BodySnapshot.of(responseBytes);
+            if (ApiCassette.recording()) {
+                ApiCassette.record(request.method(), requestSpec.getUserDefinedPath(), requestSpec.getBody(),
+                        response.statusCode(), response.getContentType(), responseBytes);
+            }
+            if (!ApiCassette.replaying()) {
+                ApiMetrics.record(request.method(), requestSpec.getUserDefinedPath(), response.statusCode(),
+                        elapsedNanos / 1_000, request.body().originalSize(), responseBody.originalSize());
+            }
+            LatencyRecorder.record(request.method(), requestSpec.getUserDefinedPath(), response.statusCode(),
+                    elapsedNanos / 1_000);
+            register(ApiExchange.success(
+                    request,
                     response.statusCode(),
-                    formatHeaders(response.getHeaders().asList(), false),
-                    formatBody(response.getBody() == null ? null : response.getBody().asString()),
-                    System.currentTimeMillis() - startedAt
-            );
-            register(exchange);
+                    response.getHeaders(),
+                    responseBody,
+                    elapsedNanos / 1_000_000
+            ), requestSpec.getBody(), responseBytes);
             return response;
         } catch (RuntimeException exception) {
-            ApiExchange exchange = ApiExchange.failure(
-                    timestamp,
-                    requestMethod,
-                    requestUri,
-                    requestHeaders,
-                    requestBody,
-                    System.currentTimeMillis() - startedAt,
-                    exception.toString()
-            );
-            register(exchange);
+            long elapsedNanos = System.nanoTime() - startedAt;
+            if (!ApiCassette.replaying()) {
+                ApiMetrics.record(request.method(), requestSpec.getUserDefinedPath(), null,
+                        elapsedNanos / 1_000, request.body().originalSize(), 0);
+            }
+            LatencyRecorder.record(request.method(), requestSpec.getUserDefinedPath(), null, elapsedNanos / 1_000);
+            register(ApiExchange.failure(request, elapsedNanos / 1_000_000, exception.toString()),
+                    requestSpec.getBody(), null);
             throw exception;
         }
     }
 
+    /**
+     * Toma, en el hilo del escenario, el destino de la evidencia de llamadas que no pasan por Rest Assured
+     * (cliente asíncrono). Las respuestas pueden llegar en otros hilos: los intercambios se guardan igual
+     * en la evidencia, el spool y las latencias de este escenario.
+     *
+     * @return destino de la evidencia del escenario actual.
+     */
+    public static AsyncScope asyncScope() {
+        return new AsyncScope(EXCHANGES.get(), EvidenceSpool.current(), LatencyRecorder.current());
+    }
+
     /**
      * Limpia evidencia acumulada para el hilo actual.
      */
@@ -100,11 +150,8 @@ public class ApiEvidenceFilter implements Filter {
      * @return texto de evidencia o `null` si no hay llamadas.
      */
     public static String lastExchangeReport() {
-        List<ApiExchange> exchanges = EXCHANGES.get();
-        if (exchanges.isEmpty()) {
-            return null;
-        }
-        return exchanges.get(exchanges.size() - 1).asSerenityReportText();
+        ApiExchange last = EXCHANGES.get().last();
+        return last == null ? null : last.asSerenityReportText();
     }
 
     /**
@@ -113,11 +160,25 @@ public class ApiEvidenceFilter implements Filter {
      * @return lista de textos en orden de ejecución.
      */
     public static List<String> allExchangeReports() {
-        List<ApiExchange> exchanges = EXCHANGES.get();
-        if (exchanges.isEmpty()) {
-            return List.of();
+        return EXCHANGES.get().retained().stream().map(ApiExchange::asSerenityReportText).toList();
+    }
+
+    /**
+     * @return resumen de lo descartado por los límites del buffer, o `null` si no se descartó nada.
+     */
+    public static String droppedExchangesSummary() {
+        ExchangeBuffer buffer = EXCHANGES.get();
+        synchronized (buffer) {
+            if (buffer.dropped == 0) {
+                return null;
+            }
+            return "exchanges.total: " + buffer.total + System.lineSeparator()
+                    + "exchanges.retained: " + buffer.retainedCount() + System.lineSeparator()
+                    + "exchanges.dropped: " + buffer.dropped + System.lineSeparator()
+                    + "bytes.dropped: " + buffer.droppedBytes + System.lineSeparator()
+                    + "retention: first " + KEEP_FIRST + " + last " + KEEP_LAST + ", max " + MAX_BYTES + " bytes"
+                    + System.lineSeparator();
         }
-        return exchanges.stream().map(ApiExchange::asSerenityReportText).toList();
     }
 
     /**
@@ -130,9 +191,10 @@ public class ApiEvidenceFilter implements Filter {
         if (report == null) {
             return;
         }
+        String dropped = droppedExchangesSummary();
         Serenity.recordReportData()
                 .withTitle(title)
-                .andContents(report);
+                .andContents(dropped == null ? report : report + dropped);
     }
 
     /**
@@ -141,30 +203,67 @@ public class ApiEvidenceFilter implements Filter {
      * @param titlePrefix prefijo para numeración de evidencia.
      */
     public static void attachAllExchangesToSerenity(String titlePrefix) {
-        List<String> reports = allExchangeReports();
-        for (int index = 0; index < reports.size(); index++) {
+        if (EvidenceSpool.enabled()) {
+            attachSpoolIndexToSerenity(titlePrefix);
+            return;
+        }
+        for (ApiExchange exchange : EXCHANGES.get().retained()) {
+            Serenity.recordReportData()
+                    .withTitle(titlePrefix + " #" + exchange.sequence)
+                    .andContents(exchange.asSerenityReportText());
+        }
+        String dropped = droppedExchangesSummary();
+        if (dropped != null) {
             Serenity.recordReportData()
-                    .withTitle(titlePrefix + " #" + (index + 1))
-                    .andContents(reports.get(index));
+                    .withTitle(titlePrefix + " (descartados)")
+                    .andContents(dropped);
+        }
+    }
+
+    /**
+     * Con el spool activo la evidencia completa ya está en disco: Serenity recibe solo el índice.
+     */
+    private static void attachSpoolIndexToSerenity(String titlePrefix) {
+        String index = EvidenceSpool.scenarioIndex();
+        if (index == null) {
+            return;
         }
+        Serenity.recordReportData()
+                .withTitle(titlePrefix + " (NDJSON)")
+                .andContents(index);
     }
 
     /**
      * Registra un intercambio en el almacenamiento del hilo actual.
      */
-    private static void register(ApiExchange exchange) {
-        EXCHANGES.get().add(exchange);
+    private static void register(ApiExchange exchange, Object requestBody, Object responseBody) {
+        register(EXCHANGES.get(), EvidenceSpool.current(), exchange, requestBody, responseBody);
+    }
+
+    /**
+     * Registra un intercambio en el buffer y el spool de un escenario, desde cualquier hilo.
+     * El buffer guarda los bodies truncados; el spool recibe los completos y no los retiene.
+     */
+    private static void register(ExchangeBuffer buffer, EvidenceSpool.ScenarioSpool spool, ApiExchange exchange,
+                                 Object requestBody, Object responseBody) {
+        if (EAGER_CAPTURE) {
+            exchange.asSerenityReportText();
+        }
+        buffer.add(exchange);
+        if (EvidenceSpool.enabled()) {
+            exchange.spool(spool, requestBody, responseBody);
+        }
     }
 
     /**
      * Convierte headers en texto legible para reporte.
      */
-    private static String formatHeaders(List<Header> headers, boolean maskAuthorization) {
-        if (headers == null || headers.isEmpty()) {
+    private static String formatHeaders(Headers headers, boolean maskAuthorization) {
+        if (headers == null || !headers.exist()) {
             return "<none>";
         }
 
-        return headers.stream()
+        return headers.asList().stream()
                 .map(header -> {
                     String value = header.getValue();
                     if (maskAuthorization && "authorization".equalsIgnoreCase(header.getName())) {
@@ -178,7 +277,7 @@ public class ApiEvidenceFilter implements Filter {
     /**
      * Oculta tokens sensibles en evidencia.
      */
-    private static String maskToken(String value) {
+    static String maskToken(String value) {
         if (value == null || value.isBlank()) {
             return "<empty>";
         }
@@ -197,6 +296,10 @@ public class ApiEvidenceFilter implements Filter {
             return "<empty>";
         }
 
+        if (body instanceof byte[] bytes) {
+            return formatBody(new String(bytes, StandardCharsets.UTF_8));
+        }
+
         if (body instanceof String textBody) {
             if (textBody.isBlank()) {
                 return "<empty>";
@@ -223,40 +326,268 @@ public class ApiEvidenceFilter implements Filter {
         }
     }
 
+    /**
+     * Datos crudos del request tal como llegan al filtro, sin formatear.
+     */
+    private record RequestSnapshot(long startedAtMillis, String method, String uri, Headers headers, BodySnapshot body) {
+    }
+
+    /**
+     * Body capturado, truncado a `api.evidence.body.max.bytes`.
+     *
+     * @param content texto, bytes u objeto original; `null` si no hubo body.
+     * @param originalSize tamaño original (bytes, o caracteres para texto).
+     * @param keptSize tamaño conservado.
+     */
+    private record BodySnapshot(Object content, int originalSize, int keptSize) {
+
+        private static final BodySnapshot EMPTY = new BodySnapshot(null, 0, 0);
+
+        private static BodySnapshot of(Object body) {
+            if (body == null) {
+                return EMPTY;
+            }
+            if (body instanceof byte[] bytes) {
+                if (bytes.length <= BODY_MAX_BYTES) {
+                    return new BodySnapshot(bytes, bytes.length, bytes.length);
+                }
+                return new BodySnapshot(Arrays.copyOf(bytes, BODY_MAX_BYTES), bytes.length, BODY_MAX_BYTES);
+            }
+            if (body instanceof String text) {
+                if (text.length() <= BODY_MAX_BYTES) {
+                    return new BodySnapshot(text, text.length(), text.length());
+                }
+                return new BodySnapshot(text.substring(0, BODY_MAX_BYTES), text.length(), BODY_MAX_BYTES);
+            }
+            return new BodySnapshot(body, 0, 0);
+        }
+
+        private boolean truncated() {
+            return keptSize < originalSize;
+        }
+
+        private String format() {
+            String formatted = formatBody(content);
+            if (!truncated()) {
+                return formatted;
+            }
+            return formatted + System.lineSeparator()
+                    + "<truncated: kept " + keptSize + " of " + originalSize + " bytes>";
+        }
+    }
+
+    /**
+     * Evidencia de un escenario, usable desde cualquier hilo.
+     */
+    public static final class AsyncScope {
+
+        private final ExchangeBuffer buffer;
+        private final EvidenceSpool.ScenarioSpool spool;
+        private final List<LatencyRecorder.Sample> samples;
+
+        private AsyncScope(ExchangeBuffer buffer, EvidenceSpool.ScenarioSpool spool,
+                           List<LatencyRecorder.Sample> samples) {
+            this.buffer = buffer;
+            this.spool = spool;
+            this.samples = samples;
+        }
+
+        /**
+         * Abre el registro de una llamada.
+         *
+         * @param method método HTTP.
+         * @param uri URI completa.
+         * @param path path plantilla, equivalente al `userDefinedPath` de Rest Assured.
+         * @param headers headers enviados.
+         * @param body bytes del body, o `null`.
+         * @return intercambio a cerrar con {@link AsyncExchange#complete} o {@link AsyncExchange#fail}.
+         */
+        public AsyncExchange begin(String method, String uri, String path, Headers headers, byte[] body) {
+            return new AsyncExchange(this,
+                    new RequestSnapshot(System.currentTimeMillis(), method, uri, headers, BodySnapshot.of(body)), path,
+                    body);
+        }
+    }
+
+    /**
+     * Llamada asíncrona en curso, atada al escenario que la lanzó.
+     * Se cierra una sola vez, desde el hilo que reciba la respuesta.
+     */
+    public static final class AsyncExchange {
+
+        private final AsyncScope scope;
+        private final RequestSnapshot request;
+        private final String path;
+        private final byte[] sentBody;
+        private final long startedAtNanos = System.nanoTime();
+        private volatile ApiExchange exchange;
+
+        private AsyncExchange(AsyncScope scope, RequestSnapshot request, String path, byte[] sentBody) {
+            this.scope = scope;
+            this.request = request;
+            this.path = path;
+            this.sentBody = sentBody;
+        }
+
+        /**
+         * Registra la respuesta.
+         *
+         * @param response respuesta recibida (o reproducida del cassette).
+         * @param requestBody body tal como se envió, para el cassette.
+         */
+        public void complete(Response response, Object requestBody) {
+            long elapsedNanos = System.nanoTime() - startedAtNanos;
+            byte[] responseBytes = response.getBody() == null ? null : response.getBody().asByteArray();
+            BodySnapshot responseBody = BodySnapshot.of(responseBytes);
+            if (ApiCassette.recording()) {
+                ApiCassette.record(request.method(), path, requestBody, response.statusCode(),
+                        response.getContentType(), responseBytes);
+            }
+            if (!ApiCassette.replaying()) {
+                ApiMetrics.record(request.method(), path, response.statusCode(),
+                        elapsedNanos / 1_000, request.body().originalSize(), responseBody.originalSize());
+            }
+            LatencyRecorder.record(scope.samples, request.method(), path, response.statusCode(), elapsedNanos / 1_000);
+            exchange = ApiExchange.success(request, response.statusCode(), response.getHeaders(), responseBody,
+                    elapsedNanos / 1_000_000);
+            register(scope.buffer, scope.spool, exchange, sentBody, responseBytes);
+        }
+
+        /**
+         * Registra una respuesta cuyo body se leyó como stream y no se conserva.
+         *
+         * @param statusCode status de la respuesta.
+         * @param responseHeaders headers de la respuesta.
+         * @param bytesRead bytes del body que llegó a leer el lector.
+         */
+        public void completeStreamed(int statusCode, Headers responseHeaders, long bytesRead) {
+            long elapsedNanos = System.nanoTime() - startedAtNanos;
+            ApiMetrics.record(request.method(), path, statusCode,
+                    elapsedNanos / 1_000, request.body().originalSize(), bytesRead);
+            LatencyRecorder.record(scope.samples, request.method(), path, statusCode, elapsedNanos / 1_000);
+            String note = "<streamed: " + bytesRead + " bytes read, body not retained>";
+            exchange = ApiExchange.success(request, statusCode, responseHeaders, BodySnapshot.of(note),
+                    elapsedNanos / 1_000_000);
+            register(scope.buffer, scope.spool, exchange, sentBody, note);
+        }
+
+        /**
+         * Registra una llamada sin respuesta.
+         *
+         * @param failure causa.
+         */
+        public void fail(Throwable failure) {
+            long elapsedNanos = System.nanoTime() - startedAtNanos;
+            if (!ApiCassette.replaying()) {
+                ApiMetrics.record(request.method(), path, null,
+                        elapsedNanos / 1_000, request.body().originalSize(), 0);
+            }
+            LatencyRecorder.record(scope.samples, request.method(), path, null, elapsedNanos / 1_000);
+            exchange = ApiExchange.failure(request, elapsedNanos / 1_000_000, failure.toString());
+            register(scope.buffer, scope.spool, exchange, sentBody, null);
+        }
+
+        /**
+         * @return evidencia del intercambio, o `null` si todavía no se cerró.
+         */
+        public String report() {
+            return exchange == null ? null : exchange.asSerenityReportText();
+        }
+    }
+
+    /**
+     * Buffer acotado de un escenario: los primeros `keep.first` quedan fijos y los siguientes rotan
+     * en una ventana de `keep.last`. Si se excede `max.bytes`, se descarta primero lo más viejo de la ventana.
+     * El último intercambio siempre se conserva. Las llamadas asíncronas pueden escribir desde otros hilos.
+     */
+    private static final class ExchangeBuffer {
+
+        private final List<ApiExchange> first = new ArrayList<>();
+        private final ArrayDeque<ApiExchange> last = new ArrayDeque<>();
+        private long retainedBytes;
+        private long total;
+        private long dropped;
+        private long droppedBytes;
+
+        private synchronized void add(ApiExchange exchange) {
+            exchange.sequence = ++total;
+            retainedBytes += exchange.sizeBytes();
+            if (first.size() < KEEP_FIRST) {
+                first.add(exchange);
+            } else {
+                last.addLast(exchange);
+                if (last.size() > KEEP_LAST) {
+                    drop(last.pollFirst());
+                }
+            }
+            while (retainedBytes > MAX_BYTES && retainedCount() > 1) {
+                drop(evictionCandidate());
+            }
+        }
+
+        /**
+         * Lo más viejo de la ventana; si la ventana solo tiene el último, el más reciente de los fijos.
+         */
+        private ApiExchange evictionCandidate() {
+            if (last.size() > 1) {
+                return last.pollFirst();
+            }
+            if (last.isEmpty()) {
+                return first.remove(first.size() - 2);
+            }
+            return first.remove(first.size() - 1);
+        }
+
+        private void drop(ApiExchange exchange) {
+            retainedBytes -= exchange.sizeBytes();
+            dropped++;
+            droppedBytes += exchange.sizeBytes();
+        }
+
+        private int retainedCount() {
+            return first.size() + last.size();
+        }
+
+        private synchronized ApiExchange last() {
+            if (!last.isEmpty()) {
+                return last.peekLast();
+            }
+            return first.isEmpty() ? null : first.get(first.size() - 1);
+        }
+
+        private synchronized List<ApiExchange> retained() {
+            List<ApiExchange> exchanges = new ArrayList<>(retainedCount());
+            exchanges.addAll(first);
+            exchanges.addAll(last);
+            return exchanges;
+        }
+    }
+
     /**
      * Estructura interna de evidencia de una llamada HTTP.
+     * Guarda referencias crudas y renderiza el texto una sola vez, al primer pedido.
      */
     private static class ApiExchange {
 
-        private final String timestamp;
-        private final String method;
-        private final String uri;
-        private final String requestHeaders;
-        private final String requestBody;
+        private final RequestSnapshot request;
         private final Integer statusCode;
-        private final String responseHeaders;
-        private final String responseBody;
-        private final Long elapsedMs;
+        private final Headers responseHeaders;
+        private final BodySnapshot responseBody;
+        private final long elapsedMs;
         private final String error;
+        private String reportText;
+        private long sequence;
 
         /**
          * Construye un intercambio de request/response.
          */
-        private ApiExchange(String timestamp,
-                            String method,
-                            String uri,
-                            String requestHeaders,
-                            String requestBody,
+        private ApiExchange(RequestSnapshot request,
                             Integer statusCode,
-                            String responseHeaders,
-                            String responseBody,
-                            Long elapsedMs,
+                            Headers responseHeaders,
+                            BodySnapshot responseBody,
+                            long elapsedMs,
                             String error) {
-            this.timestamp = timestamp;
-            this.method = method;
-            this.uri = uri;
-            this.requestHeaders = requestHeaders;
-            this.requestBody = requestBody;
+            this.request = request;
             this.statusCode = statusCode;
             this.responseHeaders = responseHeaders;
             this.responseBody = responseBody;
@@ -267,47 +598,61 @@ public class ApiEvidenceFilter implements Filter {
         /**
          * Fabrica intercambio exitoso.
          */
-        private static ApiExchange success(String timestamp,
-                                           String method,
-                                           String uri,
-                                           String requestHeaders,
-                                           String requestBody,
-                                           Integer statusCode,
-                                           String responseHeaders,
-                                           String responseBody,
-                                           Long elapsedMs) {
-            return new ApiExchange(timestamp, method, uri, requestHeaders, requestBody,
-                    statusCode, responseHeaders, responseBody, elapsedMs, null);
+        private static ApiExchange success(RequestSnapshot request,
+                                           int statusCode,
+                                           Headers responseHeaders,
+                                           BodySnapshot responseBody,
+                                           long elapsedMs) {
+            return new ApiExchange(request, statusCode, responseHeaders, responseBody, elapsedMs, null);
         }
 
         /**
          * Fabrica intercambio fallido sin respuesta HTTP.
          */
-        private static ApiExchange failure(String timestamp,
-                                           String method,
-                                           String uri,
-                                           String requestHeaders,
-                                           String requestBody,
-                                           Long elapsedMs,
-                                           String error) {
-            return new ApiExchange(timestamp, method, uri, requestHeaders, requestBody,
-                    null, "<none>", "<none>", elapsedMs, error);
+        private static ApiExchange failure(RequestSnapshot request, long elapsedMs, String error) {
+            return new ApiExchange(request, null, null, BodySnapshot.EMPTY, elapsedMs, error);
+        }
+
+        /**
+         * Entrega los datos crudos al spool, con los bodies sin truncar; el formateo ocurre en su hilo escritor.
+         */
+        private void spool(EvidenceSpool.ScenarioSpool scenario, Object fullRequestBody, Object fullResponseBody) {
+            EvidenceSpool.spool(scenario, sequence, request.startedAtMillis(), request.method(), request.uri(),
+                    request.headers(), fullRequestBody,
+                    statusCode, responseHeaders, fullResponseBody, elapsedMs, error);
+        }
+
+        /**
+         * Peso estimado en memoria, para el presupuesto de bytes del buffer.
+         */
+        private long sizeBytes() {
+            return EXCHANGE_OVERHEAD_BYTES + request.body().keptSize() + responseBody.keptSize();
         }
 
         /**
          * Renderiza el intercambio en formato texto para Serenity.
          */
         private String asSerenityReportText() {
+            if (reportText == null) {
+                reportText = render();
+            }
+            return reportText;
+        }
+
+        private String render() {
             String line = System.lineSeparator();
+            boolean answered = statusCode != null;
             StringBuilder report = new StringBuilder();
-            report.append("timestamp: ").append(timestamp).append(line);
-            report.append("request.method: ").append(method).append(line);
-            report.append("request.uri: ").append(uri).append(line);
-            report.append("request.headers:").append(line).append(requestHeaders).append(line);
-            report.append("request.body:").append(line).append(requestBody).append(line);
-            report.append("response.statusCode: ").append(statusCode == null ? "<no response>" : statusCode).append(line);
-            report.append("response.headers:").append(line).append(responseHeaders).append(line);
-            report.append("response.body:").append(line).append(responseBody).append(line);
+            report.append("timestamp: ").append(formatTimestamp(request.startedAtMillis())).append(line);
+            report.append("request.method: ").append(request.method()).append(line);
+            report.append("request.uri: ").append(request.uri()).append(line);
+            report.append("request.headers:").append(line).append(formatHeaders(request.headers(), true)).append(line);
+            report.append("request.body:").append(line).append(request.body().format()).append(line);
+            report.append("response.statusCode: ").append(answered ? statusCode : "<no response>").append(line);
+            report.append("response.headers:").append(line)
+                    .append(answered ? formatHeaders(responseHeaders, false) : "<none>").append(line);
+            report.append("response.body:").append(line)
+                    .append(answered ? responseBody.format() : "<none>").append(line);
             report.append("duration.ms: ").append(elapsedMs).append(line);
 
             if (error != null) {
@@ -315,5 +660,10 @@ public class ApiEvidenceFilter implements Filter {
             }
             return report.toString();
         }
+
+        private static String formatTimestamp(long epochMillis) {
+            return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault())
+                    .format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+        }
     }
 }
@@ -0,0 +1,412 @@
+package utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import net.serenitybdd.core.Serenity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Métricas de la corrida por endpoint (método + path plantilla, por ejemplo `GET /contacts/{contactId}`).
+ * Cada endpoint tiene un histograma log-lineal sin locks, conteo por status y bytes enviados/recibidos;
+ * también se registra la duración de cada escenario, por `uri:línea` (dos escenarios con el mismo nombre no se mezclan).
+ * Las eliminaciones de la cola de limpieza no cuentan: corren con {@link #untracked(Supplier)}.
+ * Al terminar la suite se escribe `target/api-metrics.json` y una página junto al reporte Serenity;
+ * cada escenario con llamadas API suma al reporte Serenity una sección de evidencia con sus endpoints.
+ */
+public final class ApiMetrics {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ApiMetrics.class);
+
+    private static final String JSON_FILE_PROPERTY = "api.metrics.file";
+    private static final String HTML_FILE_PROPERTY = "api.metrics.html";
+
+    private static final Path JSON_FILE = Path.of(RunProperties.value(JSON_FILE_PROPERTY, "target/api-metrics.json"));
+    private static final Path HTML_FILE = Path.of(
+            RunProperties.value(HTML_FILE_PROPERTY, "target/site/serenity/api-metrics.html"));
+
+    /**
+     * Ids de Mongo que aparecen en paths armados a mano, sin `pathParam`.
+     */
+    private static final Pattern RAW_ID_SEGMENT = Pattern.compile("/[0-9a-fA-F]{24}(?=/|$)");
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private static final Map<String, EndpointStats> ENDPOINTS = new ConcurrentHashMap<>();
+    private static final Map<String, ScenarioStats> SCENARIOS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Boolean> UNTRACKED = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Utilidad estática, no instanciable.
+     */
+    private ApiMetrics() {
+    }
+
+    /**
+     * Registra una llamada.
+     *
+     * @param method método HTTP.
+     * @param templatedPath path con placeholders tal como lo escribió el servicio.
+     * @param statusCode status de respuesta, o `null` si no hubo respuesta.
+     * @param elapsedMicros latencia en microsegundos.
+     * @param bytesOut tamaño del body enviado.
+     * @param bytesIn tamaño del body recibido.
+     */
+    public static void record(String method, String templatedPath, Integer statusCode,
+                              long elapsedMicros, long bytesOut, long bytesIn) {
+        if (UNTRACKED.get()) {
+            return;
+        }
+        String key = method + " " + templatePath(templatedPath);
+        ENDPOINTS.computeIfAbsent(key, ignored -> new EndpointStats())
+                .record(statusCode, elapsedMicros, bytesOut, bytesIn);
+    }
+
+    /**
+     * Registra la duración de un escenario. Cada fila de un Scenario Outline tiene su propia línea.
+     *
+     * @param location `uri:línea` del escenario.
+     * @param scenarioName nombre del escenario, para el reporte.
+     * @param elapsedMicros duración en microsegundos.
+     */
+    public static void recordScenario(String location, String scenarioName, long elapsedMicros) {
+        SCENARIOS.computeIfAbsent(location, ignored -> new ScenarioStats(scenarioName, new LatencyHistogram()))
+                .duration().record(elapsedMicros);
+    }
+
+    /**
+     * Ejecuta llamadas que no son parte de lo medido (por ejemplo la limpieza en segundo plano)
+     * sin registrarlas en los endpoints.
+     *
+     * @param call llamadas a ejecutar en el hilo actual.
+     * @return resultado de `call`.
+     */
+    public static <T> T untracked(Supplier<T> call) {
+        boolean previous = UNTRACKED.get();
+        UNTRACKED.set(true);
+        try {
+            return call.get();
+        } finally {
+            UNTRACKED.set(previous);
+        }
+    }
+
+    /**
+     * Borra el JSON y la página de una corrida anterior, para que el gate de performance nunca compare
+     * métricas viejas si esta corrida no llega a escribir las suyas.
+     */
+    public static void startRun() {
+        try {
+            Files.deleteIfExists(JSON_FILE);
+            Files.deleteIfExists(HTML_FILE);
+        } catch (IOException exception) {
+            LOGGER.warn("No se pudo borrar el reporte de métricas API anterior: {}", exception.getMessage());
+        }
+    }
+
+    /**
+     * @return ruta del JSON de métricas de la corrida.
+     */
+    public static Path jsonFile() {
+        return JSON_FILE;
+    }
+
+    /**
+     * @return foto de todos los endpoints, ordenada por tiempo total descendente.
+     */
+    public static List<EndpointReport> snapshot() {
+        return ENDPOINTS.entrySet().stream()
+                .map(entry -> entry.getValue().report(entry.getKey()))
+                .sorted(Comparator.comparingDouble(EndpointReport::totalMs).reversed())
+                .toList();
+    }
+
+    /**
+     * @return duración de los escenarios, ordenada por tiempo total descendente.
+     */
+    public static List<ScenarioReport> scenarioSnapshot() {
+        return SCENARIOS.entrySet().stream()
+                .map(entry -> ScenarioReport.of(entry.getKey(), entry.getValue().name(), entry.getValue().duration()))
+                .sorted(Comparator.comparingDouble(ScenarioReport::totalMs).reversed())
+                .toList();
+    }
+
+    /**
+     * Escribe el JSON y la página HTML de la corrida. Sin llamadas registradas no escribe nada.
+     */
+    public static void writeReport() {
+        List<EndpointReport> endpoints = snapshot();
+        List<ScenarioReport> scenarios = scenarioSnapshot();
+        if (endpoints.isEmpty() && scenarios.isEmpty()) {
+            return;
+        }
+        try {
+            createParentDirectories(JSON_FILE);
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("dataSeed", DataFactory.seed());
+            report.put("endpoints", endpoints);
+            report.put("scenarios", scenarios);
+            OBJECT_MAPPER.writeValue(JSON_FILE.toFile(), report);
+            createParentDirectories(HTML_FILE);
+            Files.writeString(HTML_FILE, html(endpoints), StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            LOGGER.warn("No se pudo escribir el reporte de métricas API: {}", exception.getMessage());
+        }
+    }
+
+    /**
+     * Adjunta al reporte Serenity, como evidencia, los endpoints que llamó el escenario del hilo actual
+     * ({@link LatencyRecorder}) y el enlace a la página de la corrida completa. Sin llamadas no adjunta nada.
+     */
+    public static void attachScenarioToSerenity() {
+        List<String> calledEndpoints = LatencyRecorder.endpoints();
+        if (calledEndpoints.isEmpty()) {
+            return;
+        }
+        StringBuilder contents = new StringBuilder(String.format(Locale.ROOT, "%-40s %6s %9s %9s %9s%n",
+                "endpoint", "count", "p50 ms", "p99 ms", "max ms"));
+        for (String endpoint : calledEndpoints) {
+            LatencyRecorder.Distribution distribution = LatencyRecorder.distribution(endpoint, Integer.MAX_VALUE);
+            contents.append(String.format(Locale.ROOT, "%-40s %6d %9.1f %9.1f %9.1f%n", endpoint,
+                    distribution.count(), distribution.percentileMs(50), distribution.percentileMs(99),
+                    distribution.percentileMs(100)));
+        }
+        contents.append(System.lineSeparator())
+                .append("Corrida completa por endpoint: ").append(HTML_FILE.getFileName())
+                .append(" (junto a este reporte, ").append(HTML_FILE).append(')');
+        Serenity.recordReportData()
+                .asEvidence()
+                .withTitle("API metrics")
+                .andContents(contents.toString());
+    }
+
+    /**
+     * Path plantilla: sin query y con los ids crudos de 24 hex como `{id}`.
+     */
+    static String templatePath(String path) {
+        if (path == null || path.isBlank()) {
+            return "/";
+        }
+        int queryStart = path.indexOf('?');
+        String withoutQuery = queryStart < 0 ? path : path.substring(0, queryStart);
+        return RAW_ID_SEGMENT.matcher(withoutQuery).replaceAll("/{id}");
+    }
+
+    private static String html(List<EndpointReport> endpoints) {
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>API metrics</title>")
+                .append("<style>body{font-family:sans-serif}td,th{padding:4px 8px;text-align:right}")
+                .append("td:first-child,th:first-child{text-align:left}</style></head><body>")
+                .append("<h1>API metrics</h1><table border=\"1\" cellspacing=\"0\"><tr>")
+                .append("<th>endpoint</th><th>count</th><th>errors</th><th>p50 ms</th><th>p90 ms</th>")
+                .append("<th>p99 ms</th><th>max ms</th><th>total ms</th><th>bytes out</th><th>bytes in</th>")
+                .append("<th>status</th></tr>");
+        for (EndpointReport endpoint : endpoints) {
+            html.append("<tr><td>").append(escape(endpoint.endpoint())).append("</td>")
+                    .append(cell(endpoint.count())).append(cell(endpoint.errors()))
+                    .append(cell(endpoint.p50Ms())).append(cell(endpoint.p90Ms()))
+                    .append(cell(endpoint.p99Ms())).append(cell(endpoint.maxMs()))
+                    .append(cell(endpoint.totalMs()))
+                    .append(cell(endpoint.bytesOut())).append(cell(endpoint.bytesIn()))
+                    .append("<td>").append(escape(endpoint.statusCounts().toString())).append("</td></tr>");
+        }
+        return html.append("</table></body></html>").toString();
+    }
+
+    private static String cell(Object value) {
+        return "<td>" + value + "</td>";
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static void createParentDirectories(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+    }
+
+    private static double millis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+
+    /**
+     * Acumuladores de un endpoint; todos admiten escrituras concurrentes sin bloquear.
+     */
+    private static final class EndpointStats {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final Map<String, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder bytesOut = new LongAdder();
+        private final LongAdder bytesIn = new LongAdder();
+
+        private void record(Integer statusCode, long elapsedMicros, long sentBytes, long receivedBytes) {
+            latency.record(elapsedMicros);
+            String status = statusCode == null ? "error" : String.valueOf(statusCode);
+            statusCounts.computeIfAbsent(status, ignored -> new LongAdder()).increment();
+            if (statusCode == null) {
+                errors.increment();
+            }
+            bytesOut.add(sentBytes);
+            bytesIn.add(receivedBytes);
+        }
+
+        private EndpointReport report(String endpoint) {
+            Map<String, Long> statuses = new TreeMap<>();
+            statusCounts.forEach((status, count) -> statuses.put(status, count.sum()));
+            long count = latency.count();
+            return new EndpointReport(
+                    endpoint,
+                    count,
+                    errors.sum(),
+                    millis(latency.percentile(0.50)),
+                    millis(latency.percentile(0.90)),
+                    millis(latency.percentile(0.99)),
+                    millis(latency.max()),
+                    millis(count == 0 ? 0 : latency.totalMicros() / count),
+                    millis(latency.totalMicros()),
+                    bytesOut.sum(),
+                    bytesIn.sum(),
+                    statuses);
+        }
+    }
+
+    private record ScenarioStats(String name, LatencyHistogram duration) {
+    }
+
+    /**
+     * Histograma log-lineal en microsegundos: exacto hasta 32 µs y luego 16 sub-buckets por potencia de dos
+     * (error relativo menor a 7%). Los percentiles devuelven el límite superior del bucket, acotado al máximo.
+     */
+    static final class LatencyHistogram {
+
+        private static final int SUB_BUCKETS = 16;
+        private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+        private static final int BUCKETS = LINEAR_LIMIT + (Long.SIZE - 5) * SUB_BUCKETS;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final LongAdder total = new LongAdder();
+        private final LongAdder totalMicros = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        void record(long micros) {
+            long value = Math.max(0, micros);
+            counts.incrementAndGet(bucketOf(value));
+            total.increment();
+            totalMicros.add(value);
+            max.accumulate(value);
+        }
+
+        long count() {
+            return total.sum();
+        }
+
+        long totalMicros() {
+            return totalMicros.sum();
+        }
+
+        long max() {
+            return max.get();
+        }
+
+        long percentile(double quantile) {
+            long count = count();
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                seen += counts.get(bucket);
+                if (seen >= rank) {
+                    return Math.min(upperBoundOf(bucket), max());
+                }
+            }
+            return max();
+        }
+
+        private static int bucketOf(long value) {
+            if (value < LINEAR_LIMIT) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int shift = exponent - 4;
+            return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+        }
+
+        private static long upperBoundOf(int bucket) {
+            if (bucket < LINEAR_LIMIT) {
+                return bucket;
+            }
+            int shift = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+            long subBucket = (bucket - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+            return ((subBucket + 1) << shift) - 1;
+        }
+    }
+
+    /**
+     * Resumen de un endpoint en milisegundos.
+     *
+     * @param endpoint método y path plantilla.
+     * @param count llamadas registradas.
+     * @param errors llamadas sin respuesta HTTP.
+     * @param p50Ms percentil 50.
+     * @param p90Ms percentil 90.
+     * @param p99Ms percentil 99.
+     * @param maxMs máximo.
+     * @param meanMs promedio.
+     * @param totalMs tiempo total acumulado.
+     * @param bytesOut bytes de body enviados.
+     * @param bytesIn bytes de body recibidos.
+     * @param statusCounts llamadas por status.
+     */
+    public record EndpointReport(String endpoint, long count, long errors, double p50Ms, double p90Ms,
+                                 double p99Ms, double maxMs, double meanMs, double totalMs,
+                                 long bytesOut, long bytesIn, Map<String, Long> statusCounts) {
+    }
+
+    /**
+     * Resumen de duración de un escenario en milisegundos.
+     *
+     * @param scenario nombre del escenario.
+     * @param location `uri:línea` del escenario.
+     * @param count ejecuciones.
+     * @param p50Ms percentil 50.
+     * @param p90Ms percentil 90.
+     * @param p99Ms percentil 99.
+     * @param maxMs máximo.
+     * @param totalMs tiempo total acumulado.
+     */
+    public record ScenarioReport(String scenario, String location, long count, double p50Ms, double p90Ms,
+                                 double p99Ms, double maxMs, double totalMs) {
+
+        private static ScenarioReport of(String location, String scenario, LatencyHistogram histogram) {
+            return new ScenarioReport(
+                    scenario,
+                    location,
+                    histogram.count(),
+                    millis(histogram.percentile(0.50)),
+                    millis(histogram.percentile(0.90)),
+                    millis(histogram.percentile(0.99)),
+                    millis(histogram.max()),
+                    millis(histogram.totalMicros()));
+        }
+    }
+}
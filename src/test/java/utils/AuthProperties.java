@@ -57,16 +57,38 @@ public final class AuthProperties {
 
     /**
      * Asegura que el usuario configurado sí puede loguearse.
-     * Primero intenta login, y si no existe, hace signup y vuelve a loguear.
+     * Con la caché de tokens caliente no hace ninguna llamada de red; si otro worker eliminó el usuario,
+     * {@link AuthTokenCache#invalidateUser(String)} ya descartó el token y acá se vuelve a loguear o registrar.
      *
      * @param authService servicio de auth para llamadas API.
      */
     public static void ensureConfiguredUserCanLogin(AuthService authService) {
+        configuredUserToken(authService);
+    }
+
+    /**
+     * Token del usuario configurado, cacheado por worker ({@link AuthTokenCache}).
+     * Si no hay token vigente, intenta login, y si no existe, hace signup y vuelve a loguear.
+     *
+     * @param authService servicio de auth para llamadas API.
+     * @return token válido del usuario `auth.email`.
+     */
+    public static String configuredUserToken(AuthService authService) {
         UserCredentials credentials = configuredUserCredentials();
+        return AuthTokenCache.tokenFor(
+                credentials.getEmail(),
+                credentials.getPassword(),
+                () -> loginOrSignUp(authService, credentials)
+        );
+    }
 
+    /**
+     * Obtiene token con login; si el usuario no existe, lo registra y reintenta.
+     */
+    private static String loginOrSignUp(AuthService authService, UserCredentials credentials) {
         Response firstLoginAttempt = authService.login(new LoginRequest(credentials.getEmail(), credentials.getPassword()));
         if (firstLoginAttempt.statusCode() == 200) {
-            return;
+            return firstLoginAttempt.jsonPath().getString("token");
         }
 
         Response signupResponse = authService.signUp(new SignupRequest(
@@ -77,12 +99,12 @@ public final class AuthProperties {
         ));
 
         if (signupResponse.statusCode() == 201) {
-            return;
+            return signupResponse.jsonPath().getString("token");
         }
 
         Response secondLoginAttempt = authService.login(new LoginRequest(credentials.getEmail(), credentials.getPassword()));
         if (secondLoginAttempt.statusCode() == 200) {
-            return;
+            return secondLoginAttempt.jsonPath().getString("token");
         }
 
         throw new IllegalStateException(
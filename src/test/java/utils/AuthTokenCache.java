@@ -0,0 +1,202 @@
+package utils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Caché de tokens por worker, indexada por credenciales.
+ * Los tokens no se validan por adelantado: se renuevan al vencer el TTL o cuando la API responde 401,
+ * y se invalidan explícitamente al hacer logout o eliminar el usuario.
+ * Eliminar el usuario invalida sus tokens en todos los workers: cada credencial lleva una generación
+ * compartida por la JVM y un token cacheado con generación vieja se descarta.
+ */
+public final class AuthTokenCache {
+
+    private static final String TTL_PROPERTY = "auth.token.ttl.minutes";
+    private static final Duration TTL = Duration.ofMinutes(RunProperties.longValue(TTL_PROPERTY, 30));
+
+    private static final ThreadLocal<WorkerTokens> TOKENS = ThreadLocal.withInitial(WorkerTokens::new);
+    private static final Map<String, AtomicLong> GENERATIONS = new ConcurrentHashMap<>();
+
+    /**
+     * Utilidad estática, no instanciable.
+     */
+    private AuthTokenCache() {
+    }
+
+    /**
+     * Entrega el token cacheado para las credenciales o lo obtiene con `login` si no hay uno vigente.
+     *
+     * @param email correo de las credenciales.
+     * @param password clave de las credenciales.
+     * @param login obtiene un token nuevo (login, o signup + login); no debe devolver vacío.
+     * @return token vigente.
+     */
+    public static String tokenFor(String email, String password, Supplier<String> login) {
+        WorkerTokens tokens = TOKENS.get();
+        String credentialsKey = credentialsKey(email, password);
+        synchronized (tokens) {
+            CachedToken cached = tokens.byCredentials.get(credentialsKey);
+            if (cached != null && isCurrent(credentialsKey, cached)) {
+                return cached.token();
+            }
+            return tokens.load(credentialsKey, login);
+        }
+    }
+
+    /**
+     * Renueva el token de unas credenciales cacheadas tras un 401.
+     * Si otro step ya lo renovó, devuelve el vigente sin ir a la red.
+     *
+     * @param rejectedToken token que la API rechazó.
+     * @return token para reintentar, o vacío si el token no salió de esta caché.
+     */
+    public static Optional<String> refresh(String rejectedToken) {
+        return refresh(TOKENS.get(), rejectedToken);
+    }
+
+    /**
+     * Renovador atado a los tokens del worker actual, para reintentar un 401 desde el hilo
+     * que recibe una respuesta asíncrona.
+     *
+     * @return función equivalente a {@link #refresh(String)} sobre la caché de este worker.
+     */
+    public static Function<String, Optional<String>> refresher() {
+        WorkerTokens tokens = TOKENS.get();
+        return rejectedToken -> refresh(tokens, rejectedToken);
+    }
+
+    private static Optional<String> refresh(WorkerTokens tokens, String rejectedToken) {
+        synchronized (tokens) {
+            return refreshLocked(tokens, rejectedToken);
+        }
+    }
+
+    private static Optional<String> refreshLocked(WorkerTokens tokens, String rejectedToken) {
+        String credentialsKey = tokens.credentialsByToken.get(rejectedToken);
+        if (credentialsKey == null) {
+            return Optional.empty();
+        }
+        CachedToken cached = tokens.byCredentials.get(credentialsKey);
+        if (cached == null) {
+            return Optional.empty();
+        }
+        if (!cached.token().equals(rejectedToken) && isCurrent(credentialsKey, cached)) {
+            return Optional.of(cached.token());
+        }
+        return Optional.of(tokens.load(credentialsKey, cached.login()));
+    }
+
+    /**
+     * Olvida las credenciales dueñas del token (logout o usuario eliminado).
+     *
+     * @param token token que dejó de ser válido.
+     */
+    public static void invalidate(String token) {
+        if (token == null) {
+            return;
+        }
+        WorkerTokens tokens = TOKENS.get();
+        synchronized (tokens) {
+            String credentialsKey = tokens.credentialsByToken.get(token);
+            if (credentialsKey == null) {
+                return;
+            }
+            tokens.byCredentials.remove(credentialsKey);
+            tokens.credentialsByToken.values().removeIf(credentialsKey::equals);
+        }
+    }
+
+    /**
+     * El usuario dueño del token fue eliminado: además de olvidarlo en este worker, sube la generación
+     * de sus credenciales para que los demás workers descarten su token y vuelvan a loguear (o registrarlo).
+     *
+     * @param token token del usuario eliminado.
+     */
+    public static void invalidateUser(String token) {
+        if (token == null) {
+            return;
+        }
+        WorkerTokens tokens = TOKENS.get();
+        String credentialsKey;
+        synchronized (tokens) {
+            credentialsKey = tokens.credentialsByToken.get(token);
+        }
+        if (credentialsKey == null) {
+            return;
+        }
+        generation(credentialsKey).incrementAndGet();
+        invalidate(token);
+    }
+
+    /**
+     * Login que produjo el token, para renovarlo fuera del worker (por ejemplo, desde la cola de limpieza)
+     * aunque después haya un logout. No pasa por la caché: cada llamada hace un login nuevo.
+     *
+     * @param token token emitido por la caché de este worker.
+     * @return login de sus credenciales, o vacío si el token no salió de esta caché.
+     */
+    public static Optional<Supplier<String>> loginFor(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        WorkerTokens tokens = TOKENS.get();
+        synchronized (tokens) {
+            String credentialsKey = tokens.credentialsByToken.get(token);
+            CachedToken cached = credentialsKey == null ? null : tokens.byCredentials.get(credentialsKey);
+            return cached == null ? Optional.empty() : Optional.of(cached.login());
+        }
+    }
+
+    /**
+     * Vacía la caché del worker actual. Con cassettes cada escenario arranca en frío, así su grabación
+     * incluye el login sin depender de qué escenarios corrieron antes en el mismo worker.
+     */
+    public static void clear() {
+        TOKENS.remove();
+    }
+
+    private static boolean isCurrent(String credentialsKey, CachedToken cached) {
+        return cached.generation() == generation(credentialsKey).get() && Instant.now().isBefore(cached.expiresAt());
+    }
+
+    private static AtomicLong generation(String credentialsKey) {
+        return GENERATIONS.computeIfAbsent(credentialsKey, ignored -> new AtomicLong());
+    }
+
+    private static String credentialsKey(String email, String password) {
+        return email.trim().toLowerCase(Locale.ROOT) + '\u0000' + password;
+    }
+
+    /**
+     * Tokens de un worker. Se guardan también los tokens viejos para reconocer 401 de steps atrasados.
+     * Se accede bajo su propio monitor: las respuestas asíncronas pueden renovar desde otros hilos.
+     */
+    private static final class WorkerTokens {
+
+        private final Map<String, CachedToken> byCredentials = new HashMap<>();
+        private final Map<String, String> credentialsByToken = new HashMap<>();
+
+        private String load(String credentialsKey, Supplier<String> login) {
+            long generation = generation(credentialsKey).get();
+            String token = login.get();
+            if (token == null || token.isBlank()) {
+                throw new IllegalStateException("El login no devolvió un token para cachear.");
+            }
+            byCredentials.put(credentialsKey, new CachedToken(token, Instant.now().plus(TTL), generation, login));
+            credentialsByToken.put(token, credentialsKey);
+            return token;
+        }
+    }
+
+    private record CachedToken(String token, Instant expiresAt, long generation, Supplier<String> login) {
+    }
+}
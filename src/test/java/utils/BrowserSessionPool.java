@@ -0,0 +1,367 @@
+package utils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import net.thucydides.core.webdriver.ConfiguredTimeouts;
+import net.thucydides.model.environment.SystemEnvironmentVariables;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool de sesiones Chrome calientes por worker.
+ * Entre escenarios limpia cookies, storage y alertas en vez de reiniciar el navegador,
+ * y recicla la sesión tras N usos o ante cualquier fallo.
+ */
+public final class BrowserSessionPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BrowserSessionPool.class);
+
+    private static final String POOL_SIZE_PROPERTY = "browser.pool.size";
+    private static final String MAX_USES_PROPERTY = "browser.pool.max.uses";
+    private static final String CHROME_ARGS_PROPERTY = "browser.pool.chrome.args";
+    private static final String PAGE_LOAD_TIMEOUT_PROPERTY = "webdriver.timeouts.pageload";
+
+    private static final int POOL_SIZE = Math.max(1, RunProperties.intValue(POOL_SIZE_PROPERTY, 1));
+    private static final int MAX_USES = Math.max(1, RunProperties.intValue(MAX_USES_PROPERTY, 20));
+    private static final long WARMUP_POLL_MILLIS = 100;
+
+    private static final ThreadLocal<WorkerPool> WORKER_POOL = ThreadLocal.withInitial(WorkerPool::new);
+    private static final Set<WebDriver> OPEN_DRIVERS = ConcurrentHashMap.newKeySet();
+    private static final ExecutorService WARMUP_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "browser-pool-warmup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder RECYCLED = new LongAdder();
+    private static final LongAdder RESETS = new LongAdder();
+    private static final LongAdder RESET_NANOS = new LongAdder();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(BrowserSessionPool::shutdown, "browser-pool-shutdown"));
+    }
+
+    /**
+     * Utilidad estática, no instanciable.
+     */
+    private BrowserSessionPool() {
+    }
+
+    /**
+     * Entrega una sesión del pool del worker actual o abre una nueva si no hay ninguna lista.
+     * Si el cupo está tomado por calentamientos en vuelo, espera al primero en vez de abrir uno más.
+     *
+     * @return sesión prestada; devolver con {@link #release(PooledSession, boolean)}.
+     */
+    public static PooledSession acquire() {
+        WorkerPool pool = WORKER_POOL.get();
+        PooledSession session = pool.idle.pollFirst();
+        if (session != null) {
+            HITS.increment();
+        } else {
+            MISSES.increment();
+            session = pool.takeWarmingOrOpen();
+        }
+        session.uses++;
+        pool.warmUp();
+        return session;
+    }
+
+    /**
+     * Devuelve la sesión al pool tras limpiar su estado, o la recicla si falló o llegó al máximo de usos.
+     *
+     * @param session sesión prestada.
+     * @param scenarioFailed si el escenario que la usó falló.
+     */
+    public static void release(PooledSession session, boolean scenarioFailed) {
+        if (session == null) {
+            return;
+        }
+        if (scenarioFailed || session.uses >= MAX_USES || !resetIsolationState(session)) {
+            session.pool.discard(session);
+            return;
+        }
+        session.pool.idle.offerFirst(session);
+    }
+
+    /**
+     * @return contadores acumulados del pool en la JVM.
+     */
+    public static Metrics metrics() {
+        return new Metrics(HITS.sum(), MISSES.sum(), RECYCLED.sum(), RESETS.sum(), RESET_NANOS.sum() / 1_000_000);
+    }
+
+    /**
+     * Limpia cookies, localStorage, sessionStorage, alertas y ventanas extra.
+     * Debe correr sobre el origen de la app: las cookies y el storage son por dominio.
+     *
+     * @return `false` si la sesión quedó inutilizable y debe reciclarse.
+     */
+    private static boolean resetIsolationState(PooledSession session) {
+        WebDriver driver = session.driver;
+        long startedAt = System.nanoTime();
+        try {
+            dismissOpenAlerts(driver);
+            if (!closeExtraWindows(driver, session.mainHandle)) {
+                return false;
+            }
+            driver.manage().deleteAllCookies();
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            driver.get("about:blank");
+            return true;
+        } catch (RuntimeException exception) {
+            return false;
+        } finally {
+            RESETS.increment();
+            RESET_NANOS.add(System.nanoTime() - startedAt);
+        }
+    }
+
+    private static void dismissOpenAlerts(WebDriver driver) {
+        while (true) {
+            try {
+                driver.switchTo().alert().dismiss();
+            } catch (NoAlertPresentException noAlert) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Cierra todo lo que no sea la ventana con la que se abrió la sesión y vuelve a ella.
+     * `getWindowHandles()` no garantiza orden, por eso la principal se recuerda al crear la sesión.
+     *
+     * @return `false` si el escenario cerró la ventana principal.
+     */
+    private static boolean closeExtraWindows(WebDriver driver, String mainHandle) {
+        Set<String> handles = driver.getWindowHandles();
+        if (!handles.contains(mainHandle)) {
+            return false;
+        }
+        for (String handle : handles) {
+            if (!handle.equals(mainHandle)) {
+                driver.switchTo().window(handle).close();
+            }
+        }
+        driver.switchTo().window(mainHandle);
+        return true;
+    }
+
+    private static WebDriver newDriver() {
+        ChromeOptions options = new ChromeOptions();
+        String chromeArgs = RunProperties.value(CHROME_ARGS_PROPERTY, "");
+        List<String> arguments = Arrays.stream(chromeArgs.split(","))
+                .map(String::trim)
+                .filter(argument -> !argument.isEmpty())
+                .toList();
+        if (!arguments.isEmpty()) {
+            options.addArguments(arguments);
+        }
+        WebDriver driver = new ChromeDriver(options);
+        OPEN_DRIVERS.add(driver);
+        try {
+            applyConfiguredTimeouts(driver);
+        } catch (RuntimeException exception) {
+            quietlyQuit(driver);
+            throw exception;
+        }
+        return driver;
+    }
+
+    /**
+     * El driver se arma acá y no en Serenity, así que los timeouts de `serenity.conf` se aplican a mano:
+     * la espera implícita (`webdriver.timeouts.implicitlywait`) y, si está, `webdriver.timeouts.pageload` (ms).
+     */
+    private static void applyConfiguredTimeouts(WebDriver driver) {
+        WebDriver.Timeouts timeouts = driver.manage().timeouts();
+        timeouts.implicitlyWait(ConfiguredTimeouts.implicitWait());
+        SystemEnvironmentVariables.currentEnvironmentVariables()
+                .optionalProperty(PAGE_LOAD_TIMEOUT_PROPERTY)
+                .map(value -> Duration.ofMillis(Long.parseLong(value.trim())))
+                .ifPresent(timeouts::pageLoadTimeout);
+    }
+
+    private static void quietlyQuit(WebDriver driver) {
+        OPEN_DRIVERS.remove(driver);
+        try {
+            driver.quit();
+        } catch (RuntimeException ignored) {
+            // La sesión ya no responde; no hay nada más que cerrar.
+        }
+    }
+
+    /**
+     * Cierra todas las sesiones abiertas al terminar la JVM y deja el resumen de métricas en consola.
+     */
+    private static void shutdown() {
+        WARMUP_EXECUTOR.shutdownNow();
+        List.copyOf(OPEN_DRIVERS).forEach(BrowserSessionPool::quietlyQuit);
+        Metrics metrics = metrics();
+        if (metrics.hits() + metrics.misses() > 0) {
+            LOGGER.info(metrics.summary());
+        }
+    }
+
+    /**
+     * Sesiones de un worker: las libres, el conteo total (libres + prestadas + calentando) y las que están calentando.
+     */
+    private static final class WorkerPool {
+
+        private final LinkedBlockingDeque<PooledSession> idle = new LinkedBlockingDeque<>();
+        private final AtomicInteger sessions = new AtomicInteger();
+        private final AtomicInteger warming = new AtomicInteger();
+
+        /**
+         * Sin sesiones libres: abre una en frío si hay cupo; si el cupo lo ocupan calentamientos en vuelo,
+         * toma la primera que termine. Sin cupo ni calentamientos (una sesión que nunca se devolvió),
+         * abre igual para no bloquear el escenario.
+         */
+        private PooledSession takeWarmingOrOpen() {
+            while (true) {
+                int current = sessions.get();
+                if (current < POOL_SIZE) {
+                    if (sessions.compareAndSet(current, current + 1)) {
+                        return openCold();
+                    }
+                } else if (warming.get() == 0) {
+                    sessions.incrementAndGet();
+                    return openCold();
+                } else {
+                    PooledSession warmed = pollWarmed();
+                    if (warmed != null) {
+                        return warmed;
+                    }
+                }
+            }
+        }
+
+        private PooledSession pollWarmed() {
+            try {
+                return idle.pollFirst(WARMUP_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrumpido esperando una sesión Chrome del pool.", interrupted);
+            }
+        }
+
+        /**
+         * El cupo ya está reservado en `sessions`; si Chrome no abre se libera.
+         */
+        private PooledSession openCold() {
+            try {
+                return PooledSession.open(this);
+            } catch (RuntimeException exception) {
+                sessions.decrementAndGet();
+                throw exception;
+            }
+        }
+
+        /**
+         * Abre en segundo plano las sesiones que falten para llegar a `browser.pool.size`.
+         */
+        private void warmUp() {
+            while (true) {
+                int current = sessions.get();
+                if (current >= POOL_SIZE) {
+                    return;
+                }
+                if (sessions.compareAndSet(current, current + 1)) {
+                    warming.incrementAndGet();
+                    WARMUP_EXECUTOR.execute(this::openWarmSession);
+                }
+            }
+        }
+
+        private void openWarmSession() {
+            try {
+                idle.offerLast(PooledSession.open(this));
+            } catch (RuntimeException exception) {
+                sessions.decrementAndGet();
+            } finally {
+                warming.decrementAndGet();
+            }
+        }
+
+        private void discard(PooledSession session) {
+            RECYCLED.increment();
+            sessions.decrementAndGet();
+            quietlyQuit(session.driver);
+            warmUp();
+        }
+    }
+
+    /**
+     * Sesión Chrome prestada a un escenario.
+     */
+    public static final class PooledSession {
+
+        private final WorkerPool pool;
+        private final WebDriver driver;
+        private final String mainHandle;
+        private int uses;
+
+        private PooledSession(WorkerPool pool, WebDriver driver) {
+            this.pool = pool;
+            this.driver = driver;
+            this.mainHandle = driver.getWindowHandle();
+        }
+
+        private static PooledSession open(WorkerPool pool) {
+            WebDriver driver = newDriver();
+            try {
+                return new PooledSession(pool, driver);
+            } catch (RuntimeException exception) {
+                quietlyQuit(driver);
+                throw exception;
+            }
+        }
+
+        /**
+         * @return driver de la sesión.
+         */
+        public WebDriver driver() {
+            return driver;
+        }
+    }
+
+    /**
+     * Foto de métricas del pool.
+     *
+     * @param hits préstamos atendidos con una sesión caliente.
+     * @param misses préstamos que tuvieron que abrir Chrome en frío.
+     * @param recycled sesiones cerradas por fallo, máximo de usos o reset fallido.
+     * @param resets limpiezas de aislamiento ejecutadas.
+     * @param totalResetMillis tiempo total gastado en limpiezas.
+     */
+    public record Metrics(long hits, long misses, long recycled, long resets, long totalResetMillis) {
+
+        /**
+         * @return resumen legible para reporte.
+         */
+        public String summary() {
+            long averageReset = resets == 0 ? 0 : totalResetMillis / resets;
+            return "browser.pool hits=" + hits
+                    + " misses=" + misses
+                    + " recycled=" + recycled
+                    + " resets=" + resets
+                    + " avgResetMs=" + averageReset;
+        }
+    }
+}
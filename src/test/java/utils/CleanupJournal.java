@@ -0,0 +1,370 @@
+package utils;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bitácora append-only en disco de los recursos que crea la suite (contactos y usuarios por API).
+ * Un hilo escritor agrupa las entradas y hace fsync por lote, así que un kill de la JVM pierde
+ * como mucho el último lote. {@link OrphanSweeper} la relee para borrar lo que quedó huérfano.
+ * Vive fuera de `target/` para sobrevivir a `mvn clean`.
+ * Solo guarda ids y correos: tokens y claves se resuelven al barrer, nunca quedan en disco.
+ */
+public final class CleanupJournal {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CleanupJournal.class);
+
+    private static final String ENABLED_PROPERTY = "cleanup.journal.enabled";
+    private static final String FILE_PROPERTY = "cleanup.journal.file";
+    private static final String BATCH_SIZE_PROPERTY = "cleanup.journal.batch.size";
+
+    /**
+     * En replay no se crea nada real: anotar ids grabados solo ensuciaría el barrido.
+     */
+    private static final boolean ENABLED = RunProperties.booleanValue(ENABLED_PROPERTY, true)
+            && !ApiCassette.replaying();
+    private static final Path FILE = Path.of(RunProperties.value(FILE_PROPERTY, ".cleanup/journal.ndjson"));
+    private static final int BATCH_SIZE = Math.max(1, RunProperties.intValue(BATCH_SIZE_PROPERTY, 16));
+
+    private static final String CONTACT_CREATED = "contact-created";
+    private static final String CONTACT_DELETED = "contact-deleted";
+    private static final String USER_CREATED = "user-created";
+    private static final String USER_DELETED = "user-deleted";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .setDefaultPropertyInclusion(JsonInclude.Value.construct(
+                    JsonInclude.Include.NON_NULL, JsonInclude.Include.NON_NULL));
+    private static final BlockingQueue<Entry> QUEUE = new LinkedBlockingQueue<>();
+    /**
+     * Correo de los usuarios anotados por cada token conocido en esta JVM (signup o login), solo en memoria.
+     */
+    private static final Map<String, String> USER_TOKENS = new ConcurrentHashMap<>();
+    private static final Object FILE_LOCK = new Object();
+
+    private static FileChannel channel;
+    private static Thread writer;
+
+    /**
+     * Utilidad estática, no instanciable.
+     */
+    private CleanupJournal() {
+    }
+
+    /**
+     * Anota un contacto creado, con el correo de su dueño si es un usuario anotado
+     * (sin correo, el dueño es la cuenta `auth.email`).
+     *
+     * @param contactId id devuelto por la API.
+     * @param token token con el que se creó.
+     */
+    public static void contactCreated(String contactId, String token) {
+        if (contactId != null && !contactId.isBlank()) {
+            String owner = token == null ? null : USER_TOKENS.get(token);
+            append(new Entry(CONTACT_CREATED, contactId, owner, Instant.now().toString()));
+        }
+    }
+
+    /**
+     * Anota un contacto eliminado.
+     *
+     * @param contactId id del contacto.
+     */
+    public static void contactDeleted(String contactId) {
+        append(new Entry(CONTACT_DELETED, contactId, null, Instant.now().toString()));
+    }
+
+    /**
+     * Anota un usuario creado. La cuenta compartida `auth.email` nunca se anota.
+     *
+     * @param email correo del usuario.
+     * @param token token de signup; queda solo en memoria para reconocer sus contactos y su eliminación.
+     */
+    public static void userCreated(String email, String token) {
+        if (email == null || email.isBlank() || email.equalsIgnoreCase(AuthProperties.email())) {
+            return;
+        }
+        String normalized = email.toLowerCase(Locale.ROOT);
+        if (token != null) {
+            USER_TOKENS.put(token, normalized);
+        }
+        append(new Entry(USER_CREATED, null, normalized, Instant.now().toString()));
+    }
+
+    /**
+     * Asocia un token nuevo (por ejemplo, de un login previo a eliminarlo) a un usuario anotado.
+     *
+     * @param email correo con el que se logueó.
+     * @param token token devuelto por el login.
+     */
+    public static void userLoggedIn(String email, String token) {
+        if (email == null || token == null) {
+            return;
+        }
+        String normalized = email.toLowerCase(Locale.ROOT);
+        if (USER_TOKENS.containsValue(normalized)) {
+            USER_TOKENS.put(token, normalized);
+        }
+    }
+
+    /**
+     * Anota la eliminación, por correo, del usuario anotado dueño del token.
+     *
+     * @param token token usado en `DELETE /users/me`.
+     */
+    public static void userDeleted(String token) {
+        String email = token == null ? null : USER_TOKENS.get(token);
+        if (email == null) {
+            return;
+        }
+        USER_TOKENS.values().removeIf(email::equals);
+        append(new Entry(USER_DELETED, null, email, Instant.now().toString()));
+    }
+
+    /**
+     * Escribe y sincroniza en disco todo lo pendiente en el hilo actual.
+     */
+    public static void flush() {
+        if (!ENABLED) {
+            return;
+        }
+        List<Entry> pending = new ArrayList<>();
+        QUEUE.drainTo(pending);
+        write(pending);
+    }
+
+    /**
+     * Relee la bitácora y devuelve los recursos creados que no tienen eliminación anotada.
+     *
+     * @return contactos y usuarios huérfanos, en orden de creación.
+     */
+    public static Orphans orphans() {
+        flush();
+        Map<String, Entry> contacts = new LinkedHashMap<>();
+        Map<String, Entry> users = new LinkedHashMap<>();
+        for (Entry entry : readEntries()) {
+            switch (entry.event()) {
+                case CONTACT_CREATED -> contacts.put(entry.id(), entry);
+                case CONTACT_DELETED -> contacts.remove(entry.id());
+                case USER_CREATED -> users.put(entry.email().toLowerCase(Locale.ROOT), entry);
+                case USER_DELETED -> users.remove(entry.email().toLowerCase(Locale.ROOT));
+                default -> {
+                    // Evento desconocido de otra versión; se ignora.
+                }
+            }
+        }
+        return new Orphans(List.copyOf(contacts.values()), List.copyOf(users.values()));
+    }
+
+    /**
+     * Reescribe la bitácora solo con lo que sigue vivo, para que no crezca entre corridas.
+     */
+    public static void compact() {
+        if (!ENABLED) {
+            return;
+        }
+        Orphans orphans = orphans();
+        List<Entry> live = new ArrayList<>(orphans.contacts());
+        live.addAll(orphans.users());
+        rewrite(live);
+    }
+
+    /**
+     * Reemplaza la bitácora por las entradas dadas (compactación tras un barrido).
+     * Se escribe en un temporal y se mueve de forma atómica para no perder nada si el proceso muere.
+     *
+     * @param entries entradas que siguen vivas.
+     */
+    public static void rewrite(List<Entry> entries) {
+        if (!ENABLED) {
+            return;
+        }
+        synchronized (FILE_LOCK) {
+            closeChannel();
+            try {
+                createParentDirectories();
+                Path temporary = FILE.resolveSibling(FILE.getFileName() + ".tmp");
+                try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    out.write(ByteBuffer.wrap(serialize(entries)));
+                    out.force(false);
+                }
+                Files.move(temporary, FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException exception) {
+                throw new IllegalStateException("No se pudo compactar la bitácora " + FILE + ".", exception);
+            }
+        }
+    }
+
+    /**
+     * @return ruta de la bitácora.
+     */
+    public static Path file() {
+        return FILE;
+    }
+
+    private static void append(Entry entry) {
+        if (!ENABLED) {
+            return;
+        }
+        QUEUE.add(entry);
+        ensureWriter();
+    }
+
+    private static synchronized void ensureWriter() {
+        if (writer != null) {
+            return;
+        }
+        writer = new Thread(CleanupJournal::writeLoop, "cleanup-journal");
+        writer.setDaemon(true);
+        writer.start();
+        try {
+            Runtime.getRuntime().addShutdownHook(new Thread(CleanupJournal::flush, "cleanup-journal-flush"));
+        } catch (IllegalStateException shutdownInProgress) {
+            // Primera entrada durante el apagado: la compactación de CleanupQueue hace el flush.
+        }
+    }
+
+    /**
+     * Espera la primera entrada y se lleva las que ya estén encoladas, hasta `cleanup.journal.batch.size`.
+     */
+    private static void writeLoop() {
+        List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            try {
+                batch.add(QUEUE.take());
+                QUEUE.drainTo(batch, BATCH_SIZE - 1);
+                write(batch);
+            } catch (InterruptedException interrupted) {
+                return;
+            } catch (RuntimeException exception) {
+                LOGGER.warn("cleanup journal: {}", exception.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private static void write(List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        synchronized (FILE_LOCK) {
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(serialize(entries));
+                FileChannel out = channel();
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                out.force(false);
+            } catch (IOException exception) {
+                throw new IllegalStateException("No se pudo escribir la bitácora " + FILE + ".", exception);
+            }
+        }
+    }
+
+    private static byte[] serialize(List<Entry> entries) throws JsonProcessingException {
+        StringBuilder lines = new StringBuilder();
+        for (Entry entry : entries) {
+            lines.append(MAPPER.writeValueAsString(entry)).append('\n');
+        }
+        return lines.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<Entry> readEntries() {
+        if (!Files.exists(FILE)) {
+            return List.of();
+        }
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(FILE, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    entries.add(MAPPER.readValue(line, Entry.class));
+                } catch (JsonProcessingException truncatedLine) {
+                    // Última línea a medio escribir por un kill; lo anterior ya está sincronizado.
+                }
+            }
+        } catch (IOException exception) {
+            throw new IllegalStateException("No se pudo leer la bitácora " + FILE + ".", exception);
+        }
+        return entries;
+    }
+
+    private static FileChannel channel() throws IOException {
+        if (channel == null || !channel.isOpen()) {
+            createParentDirectories();
+            channel = FileChannel.open(FILE, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    private static void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Se reabre en la próxima escritura.
+        }
+        channel = null;
+    }
+
+    private static void createParentDirectories() throws IOException {
+        if (FILE.getParent() != null) {
+            Files.createDirectories(FILE.getParent());
+        }
+    }
+
+    /**
+     * Línea de la bitácora.
+     *
+     * @param event tipo de evento.
+     * @param id id del contacto.
+     * @param email correo del usuario, o del dueño del contacto si no es `auth.email`.
+     * @param at instante del evento.
+     */
+    public record Entry(String event, String id, String email, String at) {
+    }
+
+    /**
+     * Recursos sin eliminación anotada.
+     *
+     * @param contacts contactos huérfanos.
+     * @param users usuarios huérfanos.
+     */
+    public record Orphans(List<Entry> contacts, List<Entry> users) {
+
+        /**
+         * @return `true` si no queda nada por barrer.
+         */
+        public boolean isEmpty() {
+            return contacts.isEmpty() && users.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package utils;
+
+import io.restassured.response.Response;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cola de limpieza en segundo plano.
+ * El teardown encola un lote por escenario y sigue; un executor acotado borra los lotes en paralelo.
+ * Al terminar la suite (o la JVM) se drena con timeout y las eliminaciones fallidas quedan en `cleanup.report.file`.
+ */
+public final class CleanupQueue {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CleanupQueue.class);
+
+    private static final String WORKERS_PROPERTY = "cleanup.workers";
+    private static final String CAPACITY_PROPERTY = "cleanup.queue.capacity";
+    private static final String DRAIN_TIMEOUT_PROPERTY = "cleanup.drain.timeout.seconds";
+    private static final String REPORT_FILE_PROPERTY = "cleanup.report.file";
+
+    private static final int WORKERS = Math.max(1, RunProperties.intValue(WORKERS_PROPERTY, 4));
+    private static final int CAPACITY = Math.max(1, RunProperties.intValue(CAPACITY_PROPERTY, 256));
+    private static final long DRAIN_TIMEOUT_SECONDS = Math.max(1, RunProperties.longValue(DRAIN_TIMEOUT_PROPERTY, 60));
+    private static final Path REPORT_FILE = Path.of(RunProperties.value(REPORT_FILE_PROPERTY, "target/cleanup-failures.txt"));
+
+    private static final AtomicInteger THREAD_SEQUENCE = new AtomicInteger();
+    /**
+     * Con la cola llena el lote corre en el hilo del escenario: backpressure en vez de perder limpiezas.
+     * También corre en línea si el executor ya se cerró por el drenado (`CallerRunsPolicy` lo descartaría).
+     */
+    private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(
+            WORKERS,
+            WORKERS,
+            30,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(CAPACITY),
+            runnable -> {
+                Thread thread = new Thread(runnable, "cleanup-" + THREAD_SEQUENCE.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            (rejected, executor) -> rejected.run());
+
+    private static final Set<Batch> PENDING = ConcurrentHashMap.newKeySet();
+    private static final Queue<String> FAILURES = new ConcurrentLinkedQueue<>();
+    private static final AtomicBoolean DRAINED = new AtomicBoolean();
+    private static final LongAdder DELETED = new LongAdder();
+
+    static {
+        EXECUTOR.allowCoreThreadTimeOut(true);
+        Runtime.getRuntime().addShutdownHook(new Thread(CleanupQueue::drain, "cleanup-drain"));
+    }
+
+    /**
+     * Utilidad estática, no instanciable.
+     */
+    private CleanupQueue() {
+    }
+
+    /**
+     * Encola las eliminaciones de un escenario. Dentro del lote se respeta el orden
+     * (contactos antes que su usuario); los lotes de distintos escenarios corren en paralelo.
+     *
+     * @param owner nombre del escenario, para el reporte de fallos.
+     * @param deletions eliminaciones en el orden en que deben ejecutarse.
+     */
+    public static void enqueue(String owner, List<Deletion> deletions) {
+        if (deletions.isEmpty()) {
+            return;
+        }
+        Batch batch = new Batch(owner, List.copyOf(deletions));
+        if (DRAINED.get()) {
+            batch.run();
+            return;
+        }
+        PENDING.add(batch);
+        EXECUTOR.execute(batch::run);
+    }
+
+    /**
+     * Espera a que terminen las limpiezas pendientes, como máximo `cleanup.drain.timeout.seconds`,
+     * y escribe el reporte de fallos. Solo la primera llamada drena; las siguientes devuelven el resultado.
+     *
+     * @return descripciones de las eliminaciones fallidas o no completadas.
+     */
+    public static List<String> drain() {
+        if (!DRAINED.compareAndSet(false, true)) {
+            return List.copyOf(FAILURES);
+        }
+        EXECUTOR.shutdown();
+        try {
+            EXECUTOR.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        EXECUTOR.shutdownNow();
+        for (Batch batch : PENDING) {
+            batch.deletions().forEach(deletion ->
+                    FAILURES.add(describe(batch, deletion) + " -> sin completar tras " + DRAIN_TIMEOUT_SECONDS + "s"));
+        }
+        List<String> failures = List.copyOf(FAILURES);
+        report(failures);
+        compactJournal();
+        return failures;
+    }
+
+    private static void report(List<String> failures) {
+        if (DELETED.sum() == 0 && failures.isEmpty()) {
+            return;
+        }
+        LOGGER.info("cleanup deleted={} failed={}", DELETED.sum(), failures.size());
+        if (failures.isEmpty()) {
+            return;
+        }
+        failures.forEach(failure -> LOGGER.warn("cleanup failed: {}", failure));
+        try {
+            if (REPORT_FILE.getParent() != null) {
+                Files.createDirectories(REPORT_FILE.getParent());
+            }
+            Files.write(REPORT_FILE, failures, StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            LOGGER.warn("No se pudo escribir {}: {}", REPORT_FILE, exception.getMessage());
+        }
+    }
+
+    private static void compactJournal() {
+        try {
+            CleanupJournal.compact();
+        } catch (RuntimeException exception) {
+            LOGGER.warn("cleanup journal: {}", exception.getMessage());
+        }
+    }
+
+    private static String describe(Batch batch, Deletion deletion) {
+        return deletion.description() + " [" + batch.owner() + "]";
+    }
+
+    /**
+     * Una eliminación diferida. Se considera exitosa con 200, 204 o 404 (ya no existía).
+     *
+     * @param description recurso a eliminar, para el reporte.
+     * @param call llamada que elimina el recurso.
+     */
+    public record Deletion(String description, Supplier<Response> call) {
+    }
+
+    /**
+     * Eliminaciones de un escenario, ejecutadas en orden por un único hilo de limpieza.
+     * No cuentan en {@link ApiMetrics}: aunque corran en el hilo del escenario o durante el drenado,
+     * las métricas son solo de lo que miden los escenarios.
+     */
+    private record Batch(String owner, List<Deletion> deletions) {
+
+        private void run() {
+            List<String> failed = new ArrayList<>();
+            try {
+                for (Deletion deletion : deletions) {
+                    String failure = execute(deletion);
+                    if (failure == null) {
+                        DELETED.increment();
+                    } else {
+                        failed.add(describe(this, deletion) + " -> " + failure);
+                    }
+                }
+            } finally {
+                FAILURES.addAll(failed);
+                PENDING.remove(this);
+                ApiEvidenceFilter.clear();
+            }
+        }
+
+        private static String execute(Deletion deletion) {
+            try {
+                Response response = ApiMetrics.untracked(deletion.call());
+                if (response == null) {
+                    return null;
+                }
+                int status = response.statusCode();
+                return status == 200 || status == 204 || status == 404 ? null : "HTTP " + status;
+            } catch (RuntimeException exception) {
+                return exception.getClass().getSimpleName() + ": " + exception.getMessage();
+            }
+        }
+    }
+}
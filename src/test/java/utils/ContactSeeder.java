@@ -0,0 +1,183 @@
+package utils;
+
+import api.models.ContactRequest;
+import api.models.ResponseBodies;
+import api.services.ContactsService;
+import io.restassured.response.Response;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Siembra masiva de contactos con {@link ContactsService}.
+ * `seed.workers` hilos toman el siguiente índice de un contador compartido: nunca hay más de
+ * `seed.workers` requests en vuelo ni una cola de pendientes creciendo (backpressure natural).
+ * Los 429 y 5xx se reintentan con espera exponencial; lo que igual falla se informa sin cortar el resto.
+ */
+public final class ContactSeeder {
+
+    private static final String WORKERS_PROPERTY = "seed.workers";
+    private static final String RETRIES_PROPERTY = "seed.retries";
+    private static final String TIMEOUT_PROPERTY = "seed.timeout.seconds";
+
+    private static final int WORKERS = Math.max(1, RunProperties.intValue(WORKERS_PROPERTY, 16));
+    private static final int RETRIES = Math.max(0, RunProperties.intValue(RETRIES_PROPERTY, 2));
+    private static final long TIMEOUT_SECONDS = Math.max(1, RunProperties.longValue(TIMEOUT_PROPERTY, 300));
+    private static final long BACKOFF_MILLIS = 200;
+
+    private final ContactsService contactsService = new ContactsService();
+
+    /**
+     * Crea `count` contactos de {@link DataFactory#validApiContact()} y los registra para la limpieza del escenario.
+     * En replay de cassettes corre en el hilo del escenario, que es el que tiene el cassette asociado.
+     * El contacto `i` se deriva de la secuencia del escenario y de `i`: con la misma semilla es el mismo
+     * sin importar qué worker lo cree.
+     *
+     * @param count cantidad de contactos.
+     * @param token token del dueño.
+     * @return ids en el orden de creación pedido y fallos por índice.
+     */
+    public Result seed(int count, String token) {
+        String[] ids = new String[count];
+        String[] failures = new String[count];
+        String batchKey = DataFactory.forkStreamKey("seed");
+        AtomicInteger next = new AtomicInteger();
+        Runnable worker = () -> {
+            try {
+                for (int index = next.getAndIncrement(); index < count; index = next.getAndIncrement()) {
+                    createOne(batchKey, index, token, ids, failures);
+                }
+            } finally {
+                ApiEvidenceFilter.clear();
+                LatencyRecorder.clear();
+            }
+        };
+
+        int workers = ApiCassette.replaying() ? 1 : Math.min(WORKERS, Math.max(1, count));
+        if (workers == 1) {
+            createSerially(batchKey, count, token, ids, failures);
+        } else {
+            runInParallel(worker, workers);
+        }
+
+        List<String> created = new ArrayList<>(count);
+        List<Failure> failed = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            if (ids[index] != null) {
+                ResourceRegistry.registerContact(ids[index], token);
+                created.add(ids[index]);
+            } else {
+                failed.add(new Failure(index, Objects.requireNonNullElse(failures[index], "sin completar")));
+            }
+        }
+        return new Result(count, List.copyOf(created), List.copyOf(failed));
+    }
+
+    private void createSerially(String batchKey, int count, String token, String[] ids, String[] failures) {
+        for (int index = 0; index < count; index++) {
+            createOne(batchKey, index, token, ids, failures);
+        }
+    }
+
+    private static void runInParallel(Runnable worker, int workers) {
+        AtomicInteger threadSequence = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "contact-seeder-" + threadSequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (int started = 0; started < workers; started++) {
+                executor.execute(worker);
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException interrupted) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void createOne(String batchKey, int index, String token, String[] ids, String[] failures) {
+        ContactRequest contact = DataFactory.withStream(batchKey + "#" + index, DataFactory::validApiContact);
+        for (int attempt = 0; ; attempt++) {
+            String failure;
+            try {
+                Response response = contactsService.createContact(contact, token);
+                if (response.statusCode() == 201) {
+                    ids[index] = ResponseBodies.contact(response).id();
+                    return;
+                }
+                failure = "HTTP " + response.statusCode();
+                if (!retryable(response.statusCode())) {
+                    failures[index] = failure;
+                    return;
+                }
+            } catch (RuntimeException exception) {
+                failure = exception.getClass().getSimpleName() + ": " + firstLine(exception.getMessage());
+            }
+            if (attempt >= RETRIES || !backOff(attempt)) {
+                failures[index] = failure + " tras " + (attempt + 1) + " intentos";
+                return;
+            }
+        }
+    }
+
+    private static boolean retryable(int status) {
+        return status == 429 || status >= 500;
+    }
+
+    private static boolean backOff(int attempt) {
+        try {
+            Thread.sleep(BACKOFF_MILLIS << attempt);
+            return true;
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static String firstLine(String message) {
+        return message == null ? "" : message.lines().findFirst().orElse("");
+    }
+
+    /**
+     * Contacto que no se pudo crear.
+     *
+     * @param index posición pedida (0 a count - 1).
+     * @param reason último status o excepción.
+     */
+    public record Failure(int index, String reason) {
+    }
+
+    /**
+     * Resultado de la siembra.
+     *
+     * @param requested contactos pedidos.
+     * @param createdIds ids creados, en el orden pedido (sin huecos por los fallidos).
+     * @param failures fallos por índice.
+     */
+    public record Result(int requested, List<String> createdIds, List<Failure> failures) {
+
+        /**
+         * @return por ejemplo `seeded 998/1000, 2 failed: [#17 HTTP 503 tras 3 intentos, ...]`.
+         */
+        public String summary() {
+            String summary = "seeded " + createdIds.size() + "/" + requested;
+            if (failures.isEmpty()) {
+                return summary;
+            }
+            return summary + ", " + failures.size() + " failed: " + Arrays.toString(failures.stream()
+                    .limit(10)
+                    .map(failure -> "#" + failure.index() + " " + failure.reason())
+                    .toArray());
+        }
+    }
+}
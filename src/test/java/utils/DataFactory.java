@@ -3,19 +3,25 @@ package utils;
 import api.models.ContactRequest;
 import api.models.SignupRequest;
 import java.text.Normalizer;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Locale;
+import java.util.SplittableRandom;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import ui.models.Contact;
 import ui.models.UserCredentials;
 
 /**
  * Fábrica de datos para las pruebas.
  * Todo sale con formato humano y cada escenario queda independiente.
+ * Cada hilo genera desde su propia secuencia, derivada de la semilla `-Ddata.seed` (o una al azar, que igual
+ * se informa): con la misma semilla, el mismo escenario vuelve a generar los mismos datos.
+ * Lo que se genera en otros hilos (siembra, pool de carga) se deriva por ítem con {@link #withStream(String, Supplier)},
+ * así el resultado no depende de qué hilo tomó cada ítem ni en qué orden.
  */
 public final class DataFactory {
 
@@ -23,6 +29,10 @@ public final class DataFactory {
     private static final String EMAIL_DOMAIN = "gmail.com";
     private static final String DEFAULT_COUNTRY = "Colombia";
 
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}");
+    private static final Pattern NON_LETTERS = Pattern.compile("[^a-z]");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]");
+
     private static final List<PersonName> HUMAN_NAMES = List.of(
             new PersonName("Juan", "Perez"),
             new PersonName("Maria", "Rodriguez"),
@@ -78,22 +88,75 @@ public final class DataFactory {
             new AddressProfile("Carrera 44 #76-31", "Oficina 203", "Cartagena", "Bolivar", "130001", DEFAULT_COUNTRY)
     );
 
-    private static final AtomicInteger PERSON_SEQUENCE = new AtomicInteger(
-            ThreadLocalRandom.current().nextInt(0, HUMAN_NAMES.size())
-    );
-    private static final AtomicInteger EMAIL_SEQUENCE = new AtomicInteger(
-            ThreadLocalRandom.current().nextInt(0, EMAIL_ROLES.size() * EMAIL_AREAS.size())
-    );
-    private static final AtomicInteger ADDRESS_SEQUENCE = new AtomicInteger(
-            ThreadLocalRandom.current().nextInt(0, ADDRESS_PROFILES.size())
-    );
-    private static final AtomicInteger BIRTHDATE_SEQUENCE = new AtomicInteger(
-            ThreadLocalRandom.current().nextInt(0, BIRTHDATES.size())
-    );
+    private static final String SEED_PROPERTY = "data.seed";
+    private static final long DATA_SEED = RunProperties.longValue(SEED_PROPERTY, ThreadLocalRandom.current().nextLong());
+
+    /**
+     * Secuencia del hilo. Sin {@link #startStream(String)} se deriva del nombre del hilo (`data-pool`, `load-3`...).
+     */
+    private static final ThreadLocal<DataStream> STREAM =
+            ThreadLocal.withInitial(() -> DataStream.derive(Thread.currentThread().getName()));
+
+    private static final String RUN_ID_PROPERTY = "data.run.id";
+    private static final String WORKER_ID_PROPERTY = "data.worker.id";
+    private static final Instant RUN_ID_EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+
+    /**
+     * Espacio de nombres de los correos: corrida (segundo de arranque + 2 caracteres al azar),
+     * worker (PID del fork) y un contador monotónico compartido por todos los hilos de la JVM.
+     */
+    private static final String EMAIL_RUN_ID = sanitizeId(RunProperties.value(RUN_ID_PROPERTY, defaultRunId()));
+    private static final String EMAIL_WORKER_ID = sanitizeId(RunProperties.value(WORKER_ID_PROPERTY,
+            fixedWidthBase36(ProcessHandle.current().pid(), 5)));
+    private static final AtomicLong EMAIL_COUNTER = new AtomicLong();
+    private static final int EMAIL_COUNTER_WIDTH = 5;
 
     private DataFactory() {
     }
 
+    /**
+     * @return semilla base de los datos; repetirla con `-Ddata.seed` reproduce la corrida.
+     */
+    public static long seed() {
+        return DATA_SEED;
+    }
+
+    /**
+     * Reinicia la secuencia del hilo actual derivándola de la semilla y de `key`
+     * (en escenarios, `uri:línea`), sin importar en qué hilo ni en qué orden corra.
+     */
+    public static void startStream(String key) {
+        STREAM.set(DataStream.derive(key));
+    }
+
+    /**
+     * Clave para derivar ítems de la secuencia actual: `clave/label#n`, con `n` creciente en la secuencia.
+     * Se pide en el hilo del escenario antes de repartir trabajo a otros hilos.
+     *
+     * @param label nombre del lote, por ejemplo `seed`.
+     */
+    public static String forkStreamKey(String label) {
+        DataStream stream = STREAM.get();
+        return stream.key + "/" + label + "#" + stream.forks++;
+    }
+
+    /**
+     * Genera en el hilo actual con una secuencia derivada de la semilla y de `key`, y restaura la anterior.
+     * Misma clave, mismo resultado, sin importar el hilo.
+     *
+     * @param key clave del ítem, por ejemplo `forkStreamKey("seed") + "#" + índice`.
+     * @param generator generador de {@code DataFactory}, por ejemplo {@code DataFactory::validApiContact}.
+     */
+    public static <T> T withStream(String key, Supplier<T> generator) {
+        DataStream previous = STREAM.get();
+        STREAM.set(DataStream.derive(key));
+        try {
+            return generator.get();
+        } finally {
+            STREAM.set(previous);
+        }
+    }
+
     /**
      * Genera un correo natural y único.
      */
@@ -180,16 +243,14 @@ public final class DataFactory {
      * Arma payload completo para crear contacto por API.
      */
     public static ContactRequest validApiContact() {
-        Contact uiContact = validUiContact();
-        return toContactRequest(uiContact);
+        return newApiContact();
     }
 
     /**
      * Arma payload completo para actualizar contacto por API.
      */
     public static ContactRequest updatedApiContact() {
-        Contact uiContact = updatedUiContact();
-        return toContactRequest(uiContact);
+        return newApiContact();
     }
 
     /**
@@ -201,87 +262,148 @@ public final class DataFactory {
         return contactRequest;
     }
 
-    private static ContactRequest toContactRequest(Contact contact) {
+    /**
+     * Arma el payload directo, sin pasar por un {@link Contact} intermedio.
+     * Consume las secuencias en el mismo orden que {@link #validUiContact()}.
+     */
+    private static ContactRequest newApiContact() {
+        PersonName person = nextPerson();
+        AddressProfile address = nextAddressProfile();
         ContactRequest contactRequest = new ContactRequest();
-        contactRequest.setFirstName(contact.getFirstName());
-        contactRequest.setLastName(contact.getLastName());
-        contactRequest.setBirthdate(contact.getBirthdate());
-        contactRequest.setPhone(contact.getPhone());
-        contactRequest.setEmail(contact.getEmail());
-        contactRequest.setStreet1(contact.getStreet1());
-        contactRequest.setStreet2(contact.getStreet2());
-        contactRequest.setCity(contact.getCity());
-        contactRequest.setStateProvince(contact.getStateProvince());
-        contactRequest.setPostalCode(contact.getPostalCode());
-        contactRequest.setCountry(contact.getCountry());
+        contactRequest.setFirstName(person.firstName());
+        contactRequest.setLastName(person.lastName());
+        contactRequest.setBirthdate(nextBirthdate());
+        contactRequest.setPhone(uniquePhone());
+        contactRequest.setEmail(nextEmailForPerson(person));
+        contactRequest.setStreet1(address.street1());
+        contactRequest.setStreet2(address.street2());
+        contactRequest.setCity(address.city());
+        contactRequest.setStateProvince(address.stateProvince());
+        contactRequest.setPostalCode(address.postalCode());
+        contactRequest.setCountry(address.country());
         return contactRequest;
     }
 
     private static String uniquePhone() {
-        return "800" + ThreadLocalRandom.current().nextInt(1000000, 9999999);
+        return "800" + STREAM.get().random.nextInt(1000000, 9999999);
     }
 
     private static String nextBirthdate() {
-        int index = BIRTHDATE_SEQUENCE.getAndIncrement();
+        int index = STREAM.get().birthdate++;
         return BIRTHDATES.get(Math.floorMod(index, BIRTHDATES.size()));
     }
 
     private static PersonName nextPerson() {
-        int index = PERSON_SEQUENCE.getAndIncrement();
+        int index = STREAM.get().person++;
         return HUMAN_NAMES.get(Math.floorMod(index, HUMAN_NAMES.size()));
     }
 
     private static AddressProfile nextAddressProfile() {
-        int index = ADDRESS_SEQUENCE.getAndIncrement();
+        int index = STREAM.get().address++;
         return ADDRESS_PROFILES.get(Math.floorMod(index, ADDRESS_PROFILES.size()));
     }
 
     /**
-     * Genera correos tipo nombre.apellido.rol[.area]@dominio.
-     * Solo mete timestamp corto cuando ya se gastaron combinaciones base.
+     * @return id de corrida de los correos (`-Ddata.run.id` o generado al arrancar).
+     */
+    public static String emailRunId() {
+        return EMAIL_RUN_ID;
+    }
+
+    /**
+     * Genera correos tipo nombre.apellido.rol[.area].corrida.worker+contador@dominio.
+     * El sufijo no se repite entre hilos, forks ni corridas; el worker tiene ancho fijo para que
+     * `worker + contador` no sea ambiguo, y el contador también, para que el largo del correo
+     * no dependa de cuántos generaron antes los otros hilos.
      */
     private static String nextEmailForPerson(PersonName person) {
-        int index = EMAIL_SEQUENCE.getAndIncrement();
+        int index = STREAM.get().email++;
         int combinationsPerPerson = EMAIL_ROLES.size() * EMAIL_AREAS.size();
         int combinationIndex = Math.floorMod(index, combinationsPerPerson);
         int roleIndex = combinationIndex % EMAIL_ROLES.size();
         int areaIndex = (combinationIndex / EMAIL_ROLES.size()) % EMAIL_AREAS.size();
-        int cycle = Math.floorDiv(index, combinationsPerPerson);
 
-        String firstName = normalizeForEmail(person.firstName());
-        String lastName = normalizeForEmail(person.lastName());
         String role = EMAIL_ROLES.get(roleIndex);
         String area = EMAIL_AREAS.get(areaIndex);
 
-        StringBuilder localPart = new StringBuilder();
-        localPart.append(firstName).append('.').append(lastName).append('.').append(role);
+        StringBuilder email = new StringBuilder(64);
+        email.append(person.emailName()).append('.').append(role);
         if (!"base".equals(area)) {
-            localPart.append('.').append(area);
+            email.append('.').append(area);
         }
-        if (cycle > 0) {
-            localPart.append('.').append(shortTimestampToken());
-        }
-        return localPart + "@" + EMAIL_DOMAIN;
+        email.append('.').append(EMAIL_RUN_ID)
+                .append('.').append(EMAIL_WORKER_ID).append(fixedWidthBase36(EMAIL_COUNTER.incrementAndGet(), EMAIL_COUNTER_WIDTH))
+                .append('@').append(EMAIL_DOMAIN);
+        return email.toString();
     }
 
     private static String normalizeForEmail(String value) {
-        String normalized = Normalizer.normalize(value, Normalizer.Form.NFD)
-                .replaceAll("\\p{M}", "")
-                .toLowerCase(Locale.ROOT)
-                .replaceAll("[^a-z]", "");
+        String withoutMarks = COMBINING_MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        String normalized = NON_LETTERS.matcher(withoutMarks.toLowerCase(Locale.ROOT)).replaceAll("");
         if (normalized.isBlank()) {
             return "usuario";
         }
         return normalized;
     }
 
-    private static String shortTimestampToken() {
-        return DateTimeFormatter.ofPattern("yyMMddHHmm")
-                .withZone(ZoneOffset.UTC)
-                .format(Instant.now());
+    private static String defaultRunId() {
+        long secondsSinceEpoch = Duration.between(RUN_ID_EPOCH, Instant.now()).getSeconds();
+        return fixedWidthBase36(secondsSinceEpoch, 6)
+                + fixedWidthBase36(ThreadLocalRandom.current().nextInt(36 * 36), 2);
+    }
+
+    private static String fixedWidthBase36(long value, int width) {
+        String encoded = Long.toString(Math.max(0, value), 36);
+        if (encoded.length() >= width) {
+            return encoded;
+        }
+        return "0".repeat(width - encoded.length()) + encoded;
     }
 
-    private record PersonName(String firstName, String lastName) {
+    /**
+     * Los ids dados por propiedad quedan en minúsculas y alfanuméricos, aptos para la parte local del correo.
+     */
+    private static String sanitizeId(String value) {
+        String sanitized = NON_ALPHANUMERIC.matcher(value.toLowerCase(Locale.ROOT)).replaceAll("");
+        return sanitized.isEmpty() ? "0" : sanitized;
+    }
+
+    /**
+     * @param emailName `nombre.apellido` normalizado para correos, calculado una sola vez por persona.
+     */
+    private record PersonName(String firstName, String lastName, String emailName) {
+
+        private PersonName(String firstName, String lastName) {
+            this(firstName, lastName, normalizeForEmail(firstName) + "." + normalizeForEmail(lastName));
+        }
+    }
+
+    /**
+     * Posiciones de las secuencias de un hilo y su generador para teléfonos.
+     * Arrancan en posiciones sacadas del mismo generador, así dos hilos no recorren los datos en fase.
+     */
+    private static final class DataStream {
+
+        private final String key;
+        private final SplittableRandom random;
+        private int forks;
+        private int person;
+        private int email;
+        private int address;
+        private int birthdate;
+
+        private DataStream(String key, SplittableRandom random) {
+            this.key = key;
+            this.random = random;
+            this.person = random.nextInt(HUMAN_NAMES.size());
+            this.email = random.nextInt(EMAIL_ROLES.size() * EMAIL_AREAS.size());
+            this.address = random.nextInt(ADDRESS_PROFILES.size());
+            this.birthdate = random.nextInt(BIRTHDATES.size());
+        }
+
+        private static DataStream derive(String key) {
+            return new DataStream(key, new SplittableRandom(DATA_SEED ^ (key.hashCode() * 0x9E3779B97F4A7C15L)));
+        }
     }
 
     private record AddressProfile(
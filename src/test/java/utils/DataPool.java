@@ -0,0 +1,197 @@
+package utils;
+
+import api.models.ContactRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Pool de datos pre-generados para la carga: un hilo productor arma contactos con {@link DataFactory},
+ * los serializa a JSON y los deja en un anillo sin locks. El hilo que pide solo toma el siguiente índice.
+ * Si ese índice todavía no está listo se genera en línea (y se cuenta como miss), así el pool nunca frena la carga.
+ * El contenido depende solo de la semilla y del índice, no de cuántos hits o misses hubo.
+ * Capacidad `data.pool.size` (default 2048); el productor rellena cuando baja de la mitad.
+ * Solo hay contactos: es lo único que consume {@link LoadGenerator}.
+ */
+public final class DataPool {
+
+    private static final String SIZE_PROPERTY = "data.pool.size";
+    private static final int CAPACITY = Math.max(2, RunProperties.intValue(SIZE_PROPERTY, 2048));
+    private static final long IDLE_PARK_NANOS = 50_000_000L;
+
+    private static final ObjectWriter CONTACT_WRITER = new ObjectMapper().writerFor(ContactRequest.class);
+
+    private static final Lane<ContactRequest> CONTACTS = new Lane<>("contacts", DataFactory::validApiContact, CONTACT_WRITER);
+
+    private static volatile Thread producer;
+
+    /**
+     * Utilidad estática, no instanciable.
+     */
+    private DataPool() {
+    }
+
+    /**
+     * Arranca el productor (idempotente) y espera a que el anillo tenga la mitad de su capacidad.
+     */
+    public static synchronized void start() {
+        if (producer != null) {
+            return;
+        }
+        producer = new Thread(DataPool::produceLoop, "data-pool");
+        producer.setDaemon(true);
+        producer.start();
+        while (CONTACTS.size() < CAPACITY / 2) {
+            LockSupport.parkNanos(1_000_000L);
+        }
+    }
+
+    /**
+     * Detiene el productor; lo que quedó en el anillo se descarta. Los índices siguen desde donde quedaron.
+     */
+    public static synchronized void stop() {
+        Thread running = producer;
+        producer = null;
+        if (running != null) {
+            running.interrupt();
+        }
+        CONTACTS.clear();
+    }
+
+    /**
+     * @return contacto válido para `POST /contacts` con su JSON ya serializado.
+     */
+    public static Payload<ContactRequest> nextContact() {
+        return CONTACTS.next();
+    }
+
+    /**
+     * @return por ejemplo `data.pool contacts hits/misses=5400/12`.
+     */
+    public static String summary() {
+        return "data.pool contacts hits/misses=" + CONTACTS.hits.sum() + "/" + CONTACTS.misses.sum();
+    }
+
+    private static void produceLoop() {
+        Thread self = Thread.currentThread();
+        while (producer == self && !self.isInterrupted()) {
+            if (!CONTACTS.refill()) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private static void wakeProducer() {
+        Thread running = producer;
+        if (running != null) {
+            LockSupport.unpark(running);
+        }
+    }
+
+    /**
+     * Payload generado y su JSON. Los bytes no se deben modificar: se envían tal cual.
+     *
+     * @param model modelo, para leer campos (por ejemplo el teléfono o el correo).
+     * @param json JSON serializado del modelo.
+     */
+    public record Payload<T>(T model, byte[] json) {
+    }
+
+    /**
+     * Secuencia indexada de un tipo de payload sobre un anillo de `CAPACITY` celdas.
+     * El ítem `i` se deriva siempre con la clave `data-pool/<nombre>#i`, lo genere el productor o el que lo pide;
+     * así el `n`-ésimo pedido recibe el mismo payload con la misma semilla, hit o miss.
+     * Cada celda guarda su índice: si el productor ya la pisó con una vuelta posterior, cuenta como miss.
+     */
+    private static final class Lane<T> {
+
+        private final String name;
+        private final AtomicReferenceArray<Slot<T>> slots = new AtomicReferenceArray<>(CAPACITY);
+        private final AtomicLong consumed = new AtomicLong();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final Supplier<T> generator;
+        private final ObjectWriter writer;
+        private volatile long produced;
+
+        private Lane(String name, Supplier<T> generator, ObjectWriter writer) {
+            this.name = name;
+            this.generator = generator;
+            this.writer = writer;
+        }
+
+        private Payload<T> next() {
+            long index = consumed.getAndIncrement();
+            Slot<T> slot = slots.get(slot(index));
+            if (slot == null || slot.index() != index) {
+                misses.increment();
+                wakeProducer();
+                return generate(index);
+            }
+            hits.increment();
+            if (ready(index + 1) < CAPACITY / 2) {
+                wakeProducer();
+            }
+            return slot.payload();
+        }
+
+        /**
+         * Solo lo llama el productor. Si quedó atrás de los pedidos, salta a lo que todavía no se pidió.
+         *
+         * @return `true` si agregó algo.
+         */
+        private boolean refill() {
+            long from = consumed.get();
+            if (produced < from) {
+                produced = from;
+            }
+            if (produced - from >= CAPACITY / 2) {
+                return false;
+            }
+            while (produced - consumed.get() < CAPACITY) {
+                slots.set(slot(produced), new Slot<>(produced, generate(produced)));
+                produced++;
+            }
+            return true;
+        }
+
+        private Payload<T> generate(long index) {
+            T model = DataFactory.withStream("data-pool/" + name + "#" + index, generator);
+            try {
+                return new Payload<>(model, writer.writeValueAsBytes(model));
+            } catch (JsonProcessingException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+        private int slot(long index) {
+            return (int) (index % CAPACITY);
+        }
+
+        /**
+         * @return ítems ya generados desde `from` que nadie pidió todavía (aproximado, sin lock).
+         */
+        private long ready(long from) {
+            return produced - from;
+        }
+
+        private long size() {
+            return ready(consumed.get());
+        }
+
+        private void clear() {
+            for (int index = 0; index < CAPACITY; index++) {
+                slots.set(index, null);
+            }
+        }
+    }
+
+    private record Slot<T>(long index, Payload<T> payload) {
+    }
+}
@@ -0,0 +1,402 @@
+package utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sumidero de evidencia API en disco para `-Dapi.evidence.mode=always`.
+ * Cada intercambio se escribe al completarse como una línea NDJSON (una entrada HAR 1.2) en un archivo
+ * por worker, desde un hilo de fondo con escritura bufferizada y append-only.
+ * Serenity solo recibe un índice por escenario; con `-Dapi.evidence.har=true` se exporta además un `.har` por worker.
+ */
+public final class EvidenceSpool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EvidenceSpool.class);
+
+    private static final String SINK_PROPERTY = "api.evidence.sink";
+    private static final String DIRECTORY_PROPERTY = "api.evidence.spool.dir";
+    private static final String QUEUE_PROPERTY = "api.evidence.spool.queue";
+    private static final String HAR_PROPERTY = "api.evidence.har";
+
+    private static final boolean ENABLED = ApiEvidenceFilter.shouldAttachAlwaysEvidence()
+            && "spool".equalsIgnoreCase(RunProperties.value(SINK_PROPERTY, "spool").trim());
+    private static final Path DIRECTORY = Path.of(RunProperties.value(DIRECTORY_PROPERTY, "target/api-evidence"));
+    private static final boolean EXPORT_HAR = RunProperties.booleanValue(HAR_PROPERTY, false);
+
+    /**
+     * Cola acotada: si el disco no da abasto, el escenario espera en vez de acumular evidencia en heap.
+     */
+    private static final BlockingQueue<SpoolEntry> QUEUE =
+            new ArrayBlockingQueue<>(Math.max(1, RunProperties.intValue(QUEUE_PROPERTY, 1024)));
+    private static final SpoolEntry END_OF_RUN = new SpoolEntry(null, null, 0, 0, null, null, null, null,
+            null, null, null, 0, null);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    /**
+     * Cerrar el generador de cada entrada no cierra ni vacía el archivo: el flush lo decide {@link #writeLoop()}.
+     */
+    private static final JsonFactory JSON_FACTORY = OBJECT_MAPPER.getFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+
+    private static final ThreadLocal<ScenarioSpool> SCENARIO = new ThreadLocal<>();
+    private static final Set<Path> WRITTEN_FILES = ConcurrentHashMap.newKeySet();
+
+    private static Thread writer;
+
+    /**
+     * Utilidad estática, no instanciable.
+     */
+    private EvidenceSpool() {
+    }
+
+    /**
+     * @return `true` si la evidencia completa va a disco en vez de a Serenity.
+     */
+    public static boolean enabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Marca el inicio de un escenario en el hilo actual; solo se escriben intercambios de escenarios en curso.
+     *
+     * @param scenarioName nombre del escenario.
+     */
+    public static void startScenario(String scenarioName) {
+        if (ENABLED) {
+            SCENARIO.set(new ScenarioSpool(scenarioName, DIRECTORY.resolve(workerFileName())));
+        }
+    }
+
+    /**
+     * Cierra el escenario del hilo actual.
+     */
+    public static void endScenario() {
+        SCENARIO.remove();
+    }
+
+    /**
+     * @return índice de la evidencia del escenario actual para Serenity, o `null` si no se escribió nada.
+     */
+    public static String scenarioIndex() {
+        ScenarioSpool scenario = SCENARIO.get();
+        if (scenario == null) {
+            return null;
+        }
+        synchronized (scenario) {
+            if (scenario.exchanges == 0) {
+                return null;
+            }
+            String line = System.lineSeparator();
+            return "file: " + scenario.file + line
+                    + "scenario: " + scenario.name + line
+                    + "exchanges: " + scenario.exchanges + line
+                    + (EXPORT_HAR ? "har: " + harFileFor(scenario.file) + line : "");
+        }
+    }
+
+    /**
+     * Encola un intercambio del escenario actual. El formateo y el enmascarado corren en el hilo escritor.
+     * Los bodies llegan completos: el tope `api.evidence.body.max.bytes` es solo para la evidencia en memoria.
+     */
+    static void spool(long sequence, long startedAtMillis, String method, String url,
+                      Headers requestHeaders, Object requestBody,
+                      Integer status, Headers responseHeaders, Object responseBody,
+                      long elapsedMs, String error) {
+        spool(SCENARIO.get(), sequence, startedAtMillis, method, url, requestHeaders, requestBody,
+                status, responseHeaders, responseBody, elapsedMs, error);
+    }
+
+    /**
+     * @return escenario del hilo actual, para que una llamada asíncrona escriba en él; `null` si no hay.
+     */
+    static ScenarioSpool current() {
+        return SCENARIO.get();
+    }
+
+    /**
+     * Encola un intercambio de un escenario dado, desde cualquier hilo.
+     */
+    static void spool(ScenarioSpool scenario, long sequence, long startedAtMillis, String method, String url,
+                      Headers requestHeaders, Object requestBody,
+                      Integer status, Headers responseHeaders, Object responseBody,
+                      long elapsedMs, String error) {
+        if (scenario == null) {
+            return;
+        }
+        synchronized (scenario) {
+            scenario.exchanges++;
+        }
+        ensureWriter();
+        try {
+            QUEUE.put(new SpoolEntry(scenario.file, scenario.name, sequence, startedAtMillis, method, url,
+                    requestHeaders, requestBody, status, responseHeaders, responseBody, elapsedMs, error));
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static synchronized void ensureWriter() {
+        if (writer != null) {
+            return;
+        }
+        writer = new Thread(EvidenceSpool::writeLoop, "evidence-spool");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(EvidenceSpool::finish, "evidence-spool-finish"));
+    }
+
+    /**
+     * Escribe entradas hasta recibir el fin de corrida. Hace flush cuando la cola queda vacía.
+     */
+    private static void writeLoop() {
+        Map<Path, BufferedWriter> writers = new HashMap<>();
+        try {
+            while (true) {
+                SpoolEntry entry = QUEUE.take();
+                if (entry == END_OF_RUN) {
+                    return;
+                }
+                try {
+                    BufferedWriter out = writers.computeIfAbsent(entry.file(), EvidenceSpool::openTruncated);
+                    writeHarEntry(out, entry);
+                    out.newLine();
+                    if (QUEUE.isEmpty()) {
+                        out.flush();
+                    }
+                } catch (IOException | RuntimeException exception) {
+                    LOGGER.warn("evidence spool: {}", exception.getMessage());
+                }
+            }
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        } finally {
+            writers.values().forEach(EvidenceSpool::closeQuietly);
+        }
+    }
+
+    /**
+     * Cierra el escritor al apagar la JVM y, si se pidió, exporta un HAR por cada NDJSON.
+     */
+    private static void finish() {
+        try {
+            QUEUE.put(END_OF_RUN);
+            writer.join();
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (EXPORT_HAR) {
+            exportHar();
+        }
+    }
+
+    /**
+     * Envuelve las líneas NDJSON de esta corrida en un documento HAR 1.2 sin cargarlas en memoria: cada línea ya es una entrada.
+     */
+    private static void exportHar() {
+        try {
+            for (Path ndjson : WRITTEN_FILES) {
+                try (BufferedReader in = Files.newBufferedReader(ndjson, StandardCharsets.UTF_8);
+                     BufferedWriter out = Files.newBufferedWriter(harFileFor(ndjson), StandardCharsets.UTF_8)) {
+                    out.write("{\"log\":{\"version\":\"1.2\",\"creator\":{\"name\":\"contact-list-automation\","
+                            + "\"version\":\"1.0\"},\"pages\":[],\"entries\":[");
+                    String line;
+                    boolean first = true;
+                    while ((line = in.readLine()) != null) {
+                        if (line.isBlank()) {
+                            continue;
+                        }
+                        if (!first) {
+                            out.write(',');
+                        }
+                        out.newLine();
+                        out.write(line);
+                        first = false;
+                    }
+                    out.write("]}}");
+                    out.newLine();
+                }
+            }
+        } catch (IOException exception) {
+            LOGGER.warn("evidence spool: no se pudo exportar HAR: {}", exception.getMessage());
+        }
+    }
+
+    private static void writeHarEntry(Writer out, SpoolEntry entry) throws IOException {
+        String requestBody = bodyText(entry.requestBody());
+        String responseBody = bodyText(entry.responseBody());
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(out)) {
+            json.writeStartObject();
+            json.writeStringField("_scenario", entry.scenario());
+            json.writeNumberField("_sequence", entry.sequence());
+            json.writeStringField("startedDateTime", Instant.ofEpochMilli(entry.startedAtMillis()).toString());
+            json.writeNumberField("time", entry.elapsedMs());
+
+            json.writeObjectFieldStart("request");
+            json.writeStringField("method", entry.method());
+            json.writeStringField("url", entry.url());
+            json.writeStringField("httpVersion", "HTTP/1.1");
+            json.writeArrayFieldStart("cookies");
+            json.writeEndArray();
+            writeHeaders(json, entry.requestHeaders(), true);
+            json.writeArrayFieldStart("queryString");
+            json.writeEndArray();
+            if (requestBody != null) {
+                json.writeObjectFieldStart("postData");
+                json.writeStringField("mimeType", contentType(entry.requestHeaders()));
+                json.writeStringField("text", requestBody);
+                json.writeEndObject();
+            }
+            json.writeNumberField("headersSize", -1);
+            json.writeNumberField("bodySize", requestBody == null ? 0 : utf8Length(requestBody));
+            json.writeEndObject();
+
+            json.writeObjectFieldStart("response");
+            json.writeNumberField("status", entry.status() == null ? 0 : entry.status());
+            json.writeStringField("statusText", "");
+            json.writeStringField("httpVersion", "HTTP/1.1");
+            json.writeArrayFieldStart("cookies");
+            json.writeEndArray();
+            writeHeaders(json, entry.responseHeaders(), false);
+            json.writeObjectFieldStart("content");
+            json.writeNumberField("size", responseBody == null ? 0 : utf8Length(responseBody));
+            json.writeStringField("mimeType", contentType(entry.responseHeaders()));
+            if (responseBody != null) {
+                json.writeStringField("text", responseBody);
+            }
+            json.writeEndObject();
+            json.writeStringField("redirectURL", "");
+            json.writeNumberField("headersSize", -1);
+            json.writeNumberField("bodySize", responseBody == null ? 0 : utf8Length(responseBody));
+            json.writeEndObject();
+
+            json.writeObjectFieldStart("cache");
+            json.writeEndObject();
+            json.writeObjectFieldStart("timings");
+            json.writeNumberField("send", 0);
+            json.writeNumberField("wait", entry.elapsedMs());
+            json.writeNumberField("receive", 0);
+            json.writeEndObject();
+            if (entry.error() != null) {
+                json.writeStringField("_error", entry.error());
+            }
+            json.writeEndObject();
+        }
+    }
+
+    private static void writeHeaders(JsonGenerator json, Headers headers, boolean maskAuthorization) throws IOException {
+        json.writeArrayFieldStart("headers");
+        if (headers != null) {
+            for (Header header : headers.asList()) {
+                String value = header.getValue();
+                if (maskAuthorization && "authorization".equalsIgnoreCase(header.getName())) {
+                    value = ApiEvidenceFilter.maskToken(value);
+                }
+                json.writeStartObject();
+                json.writeStringField("name", header.getName());
+                json.writeStringField("value", value);
+                json.writeEndObject();
+            }
+        }
+        json.writeEndArray();
+    }
+
+    private static String contentType(Headers headers) {
+        if (headers == null) {
+            return "";
+        }
+        String value = headers.getValue("Content-Type");
+        return value == null ? "" : value;
+    }
+
+    private static String bodyText(Object body) {
+        if (body == null) {
+            return null;
+        }
+        if (body instanceof byte[] bytes) {
+            return bytes.length == 0 ? null : new String(bytes, StandardCharsets.UTF_8);
+        }
+        if (body instanceof String text) {
+            return text.isEmpty() ? null : text;
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(body);
+        } catch (IOException exception) {
+            return String.valueOf(body);
+        }
+    }
+
+    private static int utf8Length(String text) {
+        return text.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static BufferedWriter openTruncated(Path file) {
+        try {
+            Files.createDirectories(file.getParent());
+            WRITTEN_FILES.add(file);
+            return Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        } catch (IOException exception) {
+            throw new IllegalStateException("No se pudo abrir " + file + ".", exception);
+        }
+    }
+
+    private static void closeQuietly(Writer writer) {
+        try {
+            writer.close();
+        } catch (IOException ignored) {
+            // Fin de corrida; no hay nada más que hacer.
+        }
+    }
+
+    private static String workerFileName() {
+        return Thread.currentThread().getName().replaceAll("[^A-Za-z0-9._-]", "_") + ".ndjson";
+    }
+
+    private static Path harFileFor(Path ndjson) {
+        String name = ndjson.getFileName().toString();
+        return ndjson.resolveSibling(name.substring(0, name.length() - ".ndjson".length()) + ".har");
+    }
+
+    /**
+     * Escenario en curso en un worker y cuántos intercambios lleva escritos.
+     */
+    static final class ScenarioSpool {
+
+        private final String name;
+        private final Path file;
+        private long exchanges;
+
+        private ScenarioSpool(String name, Path file) {
+            this.name = name;
+            this.file = file;
+        }
+    }
+
+    private record SpoolEntry(Path file, String scenario, long sequence, long startedAtMillis,
+                              String method, String url, Headers requestHeaders, Object requestBody,
+                              Integer status, Headers responseHeaders, Object responseBody,
+                              long elapsedMs, String error) {
+    }
+
+}
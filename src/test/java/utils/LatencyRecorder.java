@@ -0,0 +1,182 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Latencias de las llamadas API del escenario actual, en orden, para asertar SLOs desde los steps.
+ * Lo alimenta {@link ApiEvidenceFilter}; a diferencia de {@link ApiMetrics} no agrega entre escenarios
+ * y guarda cada muestra, así los percentiles son exactos y el mensaje de falla puede mostrar la distribución.
+ * Solo registra entre {@link #startScenario()} y {@link #clear()}: los hilos de carga, limpieza o barrido
+ * no acumulan muestras que nadie lee.
+ */
+public final class LatencyRecorder {
+
+    private static final ThreadLocal<List<Sample>> SAMPLES = new ThreadLocal<>();
+
+    /**
+     * Utilidad estática, no instanciable.
+     */
+    private LatencyRecorder() {
+    }
+
+    /**
+     * Empieza a registrar las llamadas del escenario del hilo actual, descartando las anteriores.
+     */
+    public static void startScenario() {
+        SAMPLES.set(new ArrayList<>());
+    }
+
+    /**
+     * Registra una llamada del escenario actual; sin escenario activo no hace nada.
+     *
+     * @param method método HTTP.
+     * @param path path definido por el request (plantilla o crudo).
+     * @param statusCode status, o `null` si no hubo respuesta.
+     * @param elapsedMicros duración de la llamada.
+     */
+    public static void record(String method, String path, Integer statusCode, long elapsedMicros) {
+        record(SAMPLES.get(), method, path, statusCode, elapsedMicros);
+    }
+
+    /**
+     * @return muestras del escenario del hilo actual, para que una llamada asíncrona registre en ellas;
+     *         `null` sin escenario activo.
+     */
+    static List<Sample> current() {
+        return SAMPLES.get();
+    }
+
+    /**
+     * Registra en las muestras de un escenario desde cualquier hilo.
+     */
+    static void record(List<Sample> samples, String method, String path, Integer statusCode, long elapsedMicros) {
+        if (samples == null) {
+            return;
+        }
+        Sample sample = new Sample(method + " " + ApiMetrics.templatePath(path), statusCode, elapsedMicros);
+        synchronized (samples) {
+            samples.add(sample);
+        }
+    }
+
+    /**
+     * @return última llamada del escenario, o `null` si no hubo ninguna.
+     */
+    public static Sample last() {
+        List<Sample> samples = SAMPLES.get();
+        if (samples == null) {
+            return null;
+        }
+        synchronized (samples) {
+            return samples.isEmpty() ? null : samples.get(samples.size() - 1);
+        }
+    }
+
+    /**
+     * @return endpoints llamados en el escenario del hilo actual, en orden de primera llamada.
+     */
+    public static List<String> endpoints() {
+        List<Sample> samples = SAMPLES.get();
+        if (samples == null) {
+            return List.of();
+        }
+        synchronized (samples) {
+            return samples.stream().map(Sample::endpoint).distinct().toList();
+        }
+    }
+
+    /**
+     * Distribución de las últimas `limit` llamadas a un endpoint.
+     *
+     * @param endpoint método y path plantilla, por ejemplo `POST /contacts`.
+     * @param limit cantidad máxima de llamadas, contando desde la última.
+     * @return distribución (vacía si no hubo llamadas).
+     */
+    public static Distribution distribution(String endpoint, int limit) {
+        String[] parts = endpoint.trim().split("\\s+", 2);
+        String normalized = parts[0].toUpperCase(Locale.ROOT) + (parts.length > 1 ? " " + parts[1] : "");
+        List<Sample> samples = SAMPLES.get();
+        if (samples == null) {
+            return new Distribution(normalized, new long[0]);
+        }
+        long[] micros;
+        synchronized (samples) {
+            micros = samples.stream()
+                    .filter(sample -> sample.endpoint().equals(normalized))
+                    .mapToLong(Sample::elapsedMicros)
+                    .toArray();
+        }
+        long[] window = Arrays.copyOfRange(micros, Math.max(0, micros.length - limit), micros.length);
+        Arrays.sort(window);
+        return new Distribution(normalized, window);
+    }
+
+    /**
+     * Olvida las llamadas del hilo actual y deja de registrar.
+     */
+    public static void clear() {
+        SAMPLES.remove();
+    }
+
+    /**
+     * Una llamada medida.
+     *
+     * @param endpoint método y path plantilla.
+     * @param statusCode status, o `null` si no hubo respuesta.
+     * @param elapsedMicros duración.
+     */
+    public record Sample(String endpoint, Integer statusCode, long elapsedMicros) {
+
+        /**
+         * @return duración en milisegundos.
+         */
+        public double elapsedMs() {
+            return elapsedMicros / 1000.0;
+        }
+    }
+
+    /**
+     * Muestras ordenadas de un endpoint.
+     *
+     * @param endpoint método y path plantilla.
+     * @param sortedMicros duraciones ordenadas de menor a mayor.
+     */
+    public record Distribution(String endpoint, long[] sortedMicros) {
+
+        /**
+         * @return cantidad de muestras.
+         */
+        public int count() {
+            return sortedMicros.length;
+        }
+
+        /**
+         * Percentil por rango más cercano.
+         *
+         * @param percentile entre 0 y 100.
+         * @return valor en milisegundos (0 si no hay muestras).
+         */
+        public double percentileMs(double percentile) {
+            if (sortedMicros.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sortedMicros.length);
+            return sortedMicros[Math.min(sortedMicros.length, Math.max(1, rank)) - 1] / 1000.0;
+        }
+
+        /**
+         * @return resumen legible, por ejemplo `POST /contacts n=200 min=.. p50=.. p90=.. p95=.. p99=.. max=.. ms`.
+         */
+        public String describe() {
+            if (sortedMicros.length == 0) {
+                return endpoint + " sin llamadas registradas en el escenario";
+            }
+            return String.format(Locale.ROOT, "%s n=%d min=%.1f p50=%.1f p90=%.1f p95=%.1f p99=%.1f max=%.1f ms",
+                    endpoint, sortedMicros.length, sortedMicros[0] / 1000.0, percentileMs(50), percentileMs(90),
+                    percentileMs(95), percentileMs(99), sortedMicros[sortedMicros.length - 1] / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,448 @@
+package utils;
+
+import api.models.ContactRequest;
+import api.models.LoginRequest;
+import api.models.ResponseBodies;
+import api.services.AuthService;
+import api.services.ContactsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.restassured.response.Response;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generador de carga de modelo abierto sobre {@link AuthService} y {@link ContactsService}.
+ * Las llegadas siguen un calendario fijo (`load.rate` por segundo, con rampa lineal de `load.ramp.seconds`)
+ * que no espera a las respuestas: si el sistema se frena, las llegadas se acumulan en vez de espaciarse.
+ * La latencia de cada flujo se mide desde su llegada programada, no desde que un hilo lo tomó,
+ * para no caer en la omisión coordinada; también se informa el tiempo de servicio para comparar.
+ * Con los `load.max.concurrency` hilos ocupados las llegadas esperan en cola (y esa espera cuenta en la latencia):
+ * ninguna se descarta. Lo que no llega a ejecutarse antes del drenaje se informa como `unfinished` y, en los flujos
+ * afectados, los percentiles no se publican porque les faltaría justo la cola lenta.
+ * Los contactos salen de {@link DataPool}, ya serializados, para que generar datos no compita con la carga.
+ * El hilo que programa las llegadas los toma en orden de llegada: con las mismas semillas, la llegada `n`
+ * usa siempre los mismos datos, sin importar qué hilo la ejecute.
+ */
+public final class LoadGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private static final String RATE_PROPERTY = "load.rate";
+    private static final String DURATION_PROPERTY = "load.duration.seconds";
+    private static final String RAMP_PROPERTY = "load.ramp.seconds";
+    private static final String WORKFLOWS_PROPERTY = "load.workflows";
+    private static final String MAX_CONCURRENCY_PROPERTY = "load.max.concurrency";
+    private static final String SEED_PROPERTY = "load.seed";
+    private static final String REPORT_PROPERTY = "load.report.file";
+
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final AuthService authService = new AuthService();
+    private final ContactsService contactsService = new ContactsService();
+
+    private final double rate = RunProperties.doubleValue(RATE_PROPERTY, 5);
+    private final long durationSeconds = RunProperties.longValue(DURATION_PROPERTY, 60);
+    private final long rampSeconds = Math.max(0, RunProperties.longValue(RAMP_PROPERTY, 10));
+    private final Map<Workflow, Integer> weights = Workflow.parseWeights(
+            RunProperties.value(WORKFLOWS_PROPERTY, "crud:6,browse:3,login:1"));
+    private final int maxConcurrency = Math.max(1, RunProperties.intValue(MAX_CONCURRENCY_PROPERTY, 200));
+    private final long seed = RunProperties.longValue(SEED_PROPERTY, 1);
+
+    private final Map<Workflow, WorkflowStats> stats = new EnumMap<>(Workflow.class);
+
+    /**
+     * Prepara el generador con las propiedades `load.*` actuales.
+     */
+    public LoadGenerator() {
+        if (rate <= 0 || durationSeconds <= 0) {
+            throw new IllegalStateException("load.rate y load.duration.seconds deben ser mayores a 0.");
+        }
+        for (Workflow workflow : Workflow.values()) {
+            stats.put(workflow, new WorkflowStats());
+        }
+    }
+
+    /**
+     * Corre la carga completa y escribe el reporte JSON.
+     *
+     * @return resumen por flujo y por endpoint.
+     */
+    public Result run() {
+        AuthProperties.ensureConfiguredUserCanLogin(authService);
+        DataPool.start();
+        AtomicInteger threadSequence = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "load-" + threadSequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        SplittableRandom random = new SplittableRandom(seed);
+        long startedAt = System.nanoTime();
+        long durationNanos = TimeUnit.SECONDS.toNanos(durationSeconds);
+        long arrivals = 0;
+        int maxQueued = 0;
+        long unfinished = 0;
+        try {
+            for (long arrival = 0; ; arrival++) {
+                long intendedAt = startedAt + arrivalOffsetNanos(arrival);
+                if (intendedAt - startedAt >= durationNanos) {
+                    break;
+                }
+                long wait = intendedAt - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Workflow workflow = pick(random);
+                CrudData data = workflow == Workflow.CRUD ? CrudData.next() : null;
+                arrivals++;
+                executor.execute(new Arrival(workflow, intendedAt, data));
+                maxQueued = Math.max(maxQueued, executor.getQueue().size());
+            }
+        } finally {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            for (Runnable pending : executor.shutdownNow()) {
+                stats.get(((Arrival) pending).workflow).unfinished.increment();
+                unfinished++;
+            }
+            CleanupJournal.flush();
+            LOGGER.info(DataPool.summary());
+            DataPool.stop();
+        }
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+        Result result = result(arrivals, maxQueued, unfinished, elapsedSeconds);
+        writeReport(result);
+        return result;
+    }
+
+    /**
+     * Segundo programado de la llegada `n`: en la rampa la tasa crece lineal de 0 a `rate`
+     * (llegadas acumuladas `rate * t² / 2R`), después es constante.
+     */
+    private long arrivalOffsetNanos(long arrival) {
+        double rampArrivals = rate * rampSeconds / 2.0;
+        double seconds = arrival < rampArrivals
+                ? Math.sqrt(2.0 * rampSeconds * arrival / rate)
+                : rampSeconds + (arrival - rampArrivals) / rate;
+        return (long) (seconds * 1e9);
+    }
+
+    private Workflow pick(SplittableRandom random) {
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = random.nextInt(total);
+        for (Map.Entry<Workflow, Integer> weight : weights.entrySet()) {
+            roll -= weight.getValue();
+            if (roll < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException("Pesos de flujos inválidos: " + weights);
+    }
+
+    private void execute(Workflow workflow, long intendedAt, CrudData data) {
+        long serviceStartedAt = System.nanoTime();
+        String failure;
+        try {
+            failure = switch (workflow) {
+                case LOGIN -> login() == null ? "login" : null;
+                case BROWSE -> browse();
+                case CRUD -> crud(data);
+            };
+        } catch (RuntimeException exception) {
+            failure = exception.getClass().getSimpleName();
+        } finally {
+            ApiEvidenceFilter.clear();
+        }
+        long finishedAt = System.nanoTime();
+        WorkflowStats workflowStats = stats.get(workflow);
+        workflowStats.responseTime.record((finishedAt - intendedAt) / 1_000);
+        workflowStats.serviceTime.record((finishedAt - serviceStartedAt) / 1_000);
+        if (failure == null) {
+            workflowStats.succeeded.increment();
+        } else {
+            workflowStats.failed(failure);
+        }
+    }
+
+    /**
+     * @return token, o `null` si el login no respondió 200.
+     */
+    private String login() {
+        Response response = authService.login(new LoginRequest(AuthProperties.email(), AuthProperties.password()));
+        return response.statusCode() == 200 ? response.jsonPath().getString("token") : null;
+    }
+
+    private String browse() {
+        String token = login();
+        if (token == null) {
+            return "login";
+        }
+        return expect("list", contactsService.listContacts(token), 200);
+    }
+
+    /**
+     * Login, alta, consulta, PATCH y baja de un contacto propio. Si el flujo se corta, el contacto
+     * queda en la bitácora de limpieza para el barrido de huérfanos.
+     */
+    private String crud(CrudData data) {
+        String token = login();
+        if (token == null) {
+            return "login";
+        }
+        Response created = contactsService.createContactFromJson(data.contact().json(), token);
+        String failure = expect("create", created, 201);
+        if (failure != null) {
+            return failure;
+        }
+        String contactId = ResponseBodies.contact(created).id();
+        failure = expect("get", contactsService.getContactById(contactId, token), 200);
+        if (failure != null) {
+            return failure;
+        }
+        ContactRequest patch = new ContactRequest();
+        patch.setPhone(data.patch().model().getPhone());
+        failure = expect("patch", contactsService.updateContactPatch(contactId, patch, token), 200);
+        if (failure != null) {
+            return failure;
+        }
+        return expect("delete", contactsService.deleteContact(contactId, token), 200);
+    }
+
+    private static String expect(String step, Response response, int status) {
+        return response.statusCode() == status ? null : step + " HTTP " + response.statusCode();
+    }
+
+    private Result result(long arrivals, int maxQueued, long unfinished, double elapsedSeconds) {
+        List<WorkflowReport> workflows = new ArrayList<>();
+        stats.forEach((workflow, workflowStats) -> {
+            if (workflowStats.responseTime.count() > 0 || workflowStats.unfinished.sum() > 0) {
+                workflows.add(workflowStats.report(workflow, elapsedSeconds));
+            }
+        });
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("rate", rate);
+        settings.put("durationSeconds", durationSeconds);
+        settings.put("rampSeconds", rampSeconds);
+        Map<String, Integer> workflowWeights = new LinkedHashMap<>();
+        weights.forEach((workflow, weight) -> workflowWeights.put(workflow.name().toLowerCase(Locale.ROOT), weight));
+        settings.put("workflows", workflowWeights);
+        settings.put("maxConcurrency", maxConcurrency);
+        settings.put("seed", seed);
+        settings.put("dataSeed", DataFactory.seed());
+        return new Result(settings, arrivals, maxQueued, unfinished, Math.round(elapsedSeconds * 100) / 100.0,
+                workflows, ApiMetrics.snapshot());
+    }
+
+    private static void writeReport(Result result) {
+        Path file = Path.of(RunProperties.value(REPORT_PROPERTY, "target/load-report.json"));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            OBJECT_MAPPER.writeValue(file.toFile(), result);
+        } catch (IOException exception) {
+            LOGGER.warn("No se pudo escribir {}: {}", file, exception.getMessage());
+        }
+    }
+
+    private static double millis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+
+    /**
+     * Una llegada programada. Es el `Runnable` del executor para poder contar por flujo las que quedaron en cola.
+     */
+    private final class Arrival implements Runnable {
+
+        private final Workflow workflow;
+        private final long intendedAt;
+        private final CrudData data;
+
+        private Arrival(Workflow workflow, long intendedAt, CrudData data) {
+            this.workflow = workflow;
+            this.intendedAt = intendedAt;
+            this.data = data;
+        }
+
+        @Override
+        public void run() {
+            execute(workflow, intendedAt, data);
+        }
+    }
+
+    /**
+     * Flujos disponibles y sus nombres en `load.workflows` (`crud:6,browse:3,login:1`).
+     */
+    private enum Workflow {
+        LOGIN,
+        BROWSE,
+        CRUD;
+
+        private static Map<Workflow, Integer> parseWeights(String value) {
+            Map<Workflow, Integer> weights = new EnumMap<>(Workflow.class);
+            for (String entry : value.split(",")) {
+                String[] parts = entry.trim().split(":");
+                if (parts[0].isBlank()) {
+                    continue;
+                }
+                Workflow workflow;
+                int weight;
+                try {
+                    workflow = Workflow.valueOf(parts[0].trim().toUpperCase(Locale.ROOT));
+                    weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+                } catch (IllegalArgumentException exception) {
+                    throw new IllegalStateException("load.workflows inválido: '" + entry.trim()
+                            + "'; se espera flujo:peso con flujo en login, browse o crud.", exception);
+                }
+                if (weight > 0) {
+                    weights.put(workflow, weight);
+                }
+            }
+            if (weights.isEmpty()) {
+                throw new IllegalStateException("load.workflows no tiene ningún flujo con peso positivo.");
+            }
+            return weights;
+        }
+    }
+
+    /**
+     * Datos de un flujo CRUD, tomados del pool al programar la llegada.
+     *
+     * @param contact contacto a crear.
+     * @param patch contacto del que sale el teléfono nuevo para el PATCH.
+     */
+    private record CrudData(DataPool.Payload<ContactRequest> contact, DataPool.Payload<ContactRequest> patch) {
+
+        private static CrudData next() {
+            return new CrudData(DataPool.nextContact(), DataPool.nextContact());
+        }
+    }
+
+    /**
+     * Acumuladores de un flujo; los escriben los hilos de carga en paralelo.
+     */
+    private static final class WorkflowStats {
+
+        private final ApiMetrics.LatencyHistogram responseTime = new ApiMetrics.LatencyHistogram();
+        private final ApiMetrics.LatencyHistogram serviceTime = new ApiMetrics.LatencyHistogram();
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder unfinished = new LongAdder();
+        private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+
+        private void failed(String reason) {
+            failures.computeIfAbsent(reason, ignored -> new LongAdder()).increment();
+        }
+
+        private WorkflowReport report(Workflow workflow, double elapsedSeconds) {
+            Map<String, Long> failureCounts = new LinkedHashMap<>();
+            failures.forEach((reason, count) -> failureCounts.put(reason, count.sum()));
+            long failed = failureCounts.values().stream().mapToLong(Long::longValue).sum();
+            boolean complete = unfinished.sum() == 0;
+            return new WorkflowReport(
+                    workflow.name().toLowerCase(Locale.ROOT),
+                    succeeded.sum(),
+                    failed,
+                    unfinished.sum(),
+                    Math.round(succeeded.sum() / elapsedSeconds * 100) / 100.0,
+                    complete ? millis(responseTime.percentile(0.50)) : null,
+                    complete ? millis(responseTime.percentile(0.90)) : null,
+                    complete ? millis(responseTime.percentile(0.99)) : null,
+                    complete ? millis(responseTime.max()) : null,
+                    millis(serviceTime.percentile(0.50)),
+                    millis(serviceTime.percentile(0.99)),
+                    failureCounts);
+        }
+    }
+
+    /**
+     * Resumen de un flujo en milisegundos. `p*Ms` se miden desde la llegada programada (incluye la espera en cola);
+     * `serviceP*Ms`, desde que un hilo empezó a ejecutarlo.
+     *
+     * @param workflow nombre del flujo.
+     * @param succeeded flujos completos.
+     * @param failed flujos cortados.
+     * @param unfinished llegadas que seguían en cola al vencer el drenaje.
+     * @param throughputPerSecond flujos completos por segundo.
+     * @param p50Ms percentil 50, o `null` si hubo llegadas sin terminar.
+     * @param p90Ms percentil 90, o `null` si hubo llegadas sin terminar.
+     * @param p99Ms percentil 99, o `null` si hubo llegadas sin terminar.
+     * @param maxMs máximo, o `null` si hubo llegadas sin terminar.
+     * @param serviceP50Ms percentil 50 del tiempo de servicio.
+     * @param serviceP99Ms percentil 99 del tiempo de servicio.
+     * @param failures cortes por paso y status.
+     */
+    public record WorkflowReport(String workflow, long succeeded, long failed, long unfinished,
+                                 double throughputPerSecond, Double p50Ms, Double p90Ms, Double p99Ms, Double maxMs,
+                                 double serviceP50Ms, double serviceP99Ms, Map<String, Long> failures) {
+    }
+
+    /**
+     * Resultado de la corrida de carga.
+     *
+     * @param settings parámetros usados.
+     * @param arrivals llegadas programadas.
+     * @param maxQueued mayor cantidad de llegadas esperando un hilo libre (saturación de `load.max.concurrency`).
+     * @param unfinished llegadas que no llegaron a ejecutarse antes del drenaje.
+     * @param elapsedSeconds duración real, incluido el drenaje de lo que estaba en vuelo.
+     * @param workflows resumen por flujo.
+     * @param endpoints tiempos de servicio por endpoint ({@link ApiMetrics}).
+     */
+    public record Result(Map<String, Object> settings, long arrivals, int maxQueued, long unfinished, double elapsedSeconds,
+                         List<WorkflowReport> workflows, List<ApiMetrics.EndpointReport> endpoints) {
+
+        /**
+         * @return tabla de texto con un renglón por flujo y por endpoint.
+         */
+        public String summary() {
+            StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+                    "load arrivals=%d maxQueued=%d unfinished=%d elapsed=%.1fs %s%n",
+                    arrivals, maxQueued, unfinished, elapsedSeconds, settings));
+            table.append(String.format(Locale.ROOT, "%-8s %8s %7s %10s %8s %9s %9s %9s %9s %11s%n",
+                    "workflow", "ok", "failed", "unfinished", "ok/s", "p50 ms", "p90 ms", "p99 ms", "max ms",
+                    "svc p99 ms"));
+            for (WorkflowReport workflow : workflows) {
+                table.append(String.format(Locale.ROOT, "%-8s %8d %7d %10d %8.2f %9s %9s %9s %9s %11.1f%n",
+                        workflow.workflow(), workflow.succeeded(), workflow.failed(), workflow.unfinished(),
+                        workflow.throughputPerSecond(), column(workflow.p50Ms()), column(workflow.p90Ms()),
+                        column(workflow.p99Ms()), column(workflow.maxMs()), workflow.serviceP99Ms()));
+                workflow.failures().forEach((reason, count) ->
+                        table.append("         ").append(count).append(" x ").append(reason).append(System.lineSeparator()));
+            }
+            for (ApiMetrics.EndpointReport endpoint : endpoints) {
+                table.append(String.format(Locale.ROOT, "%-32s %6d req %6.1f/s  p50 %.1f  p99 %.1f ms %s%n",
+                        endpoint.endpoint(), endpoint.count(), endpoint.count() / Math.max(elapsedSeconds, 0.001),
+                        endpoint.p50Ms(), endpoint.p99Ms(), endpoint.statusCounts()));
+            }
+            return table.toString();
+        }
+
+        private static String column(Double millis) {
+            return millis == null ? "-" : String.format(Locale.ROOT, "%.1f", millis);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package utils;
+
+import api.models.LoginRequest;
+import api.services.AuthService;
+import api.services.ContactsService;
+import io.restassured.response.Response;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Barre los recursos huérfanos de {@link CleanupJournal} (corridas que murieron antes de limpiar).
+ * Borra contactos y luego usuarios en paralelo y compacta la bitácora dejando solo lo que no pudo borrar.
+ * No debe correr a la vez que una suite: borraría datos de escenarios en curso.
+ */
+public final class OrphanSweeper {
+
+    private static final String WORKERS_PROPERTY = "cleanup.sweep.workers";
+    private static final int WORKERS = Math.max(1, RunProperties.intValue(WORKERS_PROPERTY, 8));
+
+    private final ContactsService contactsService = new ContactsService();
+    private final AuthService authService = new AuthService();
+
+    /**
+     * Ejecuta el barrido completo.
+     *
+     * @return conteo de recursos borrados, ya inexistentes y fallidos.
+     */
+    public Result sweep() {
+        CleanupJournal.Orphans orphans = CleanupJournal.orphans();
+        if (orphans.isEmpty()) {
+            return new Result(0, 0, List.of());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(WORKERS, runnable -> {
+            Thread thread = new Thread(runnable, "orphan-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Attempt> attempts = new ArrayList<>(runAll(orphans.contacts(), this::deleteContact, executor));
+            attempts.addAll(runAll(orphans.users(), this::deleteUser, executor));
+
+            CleanupJournal.flush();
+            List<CleanupJournal.Entry> failed = attempts.stream()
+                    .filter(attempt -> attempt.outcome() == Outcome.FAILED)
+                    .map(Attempt::entry)
+                    .toList();
+            CleanupJournal.rewrite(failed);
+            return new Result(
+                    attempts.stream().filter(attempt -> attempt.outcome() == Outcome.DELETED).count(),
+                    attempts.stream().filter(attempt -> attempt.outcome() == Outcome.GONE).count(),
+                    failed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<Attempt> runAll(List<CleanupJournal.Entry> entries,
+                                        Function<CleanupJournal.Entry, Outcome> deletion,
+                                        ExecutorService executor) {
+        List<CompletableFuture<Attempt>> futures = entries.stream()
+                .map(entry -> CompletableFuture.supplyAsync(() -> attempt(entry, deletion), executor))
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private static Attempt attempt(CleanupJournal.Entry entry, Function<CleanupJournal.Entry, Outcome> deletion) {
+        try {
+            return new Attempt(entry, deletion.apply(entry));
+        } catch (RuntimeException exception) {
+            return new Attempt(entry, Outcome.FAILED);
+        } finally {
+            ApiEvidenceFilter.clear();
+        }
+    }
+
+    /**
+     * Borra con un token de su dueño: el usuario configurado, o el usuario anotado si el contacto trae correo.
+     * Si ese usuario ya no existe, sus contactos tampoco.
+     */
+    private Outcome deleteContact(CleanupJournal.Entry contact) {
+        if (contact.email() == null) {
+            String token = AuthProperties.configuredUserToken(authService);
+            return outcomeOf(contactsService.deleteContact(contact.id(), token).statusCode());
+        }
+        Response loginResponse = login(contact.email());
+        if (loginResponse.statusCode() != 200) {
+            return loginResponse.statusCode() == 401 ? Outcome.GONE : Outcome.FAILED;
+        }
+        String token = loginResponse.jsonPath().getString("token");
+        return outcomeOf(contactsService.deleteContact(contact.id(), token).statusCode());
+    }
+
+    /**
+     * Loguea con el correo anotado y elimina. Sin login posible, el usuario ya no existe.
+     */
+    private Outcome deleteUser(CleanupJournal.Entry user) {
+        Response loginResponse = login(user.email());
+        if (loginResponse.statusCode() == 401) {
+            return Outcome.GONE;
+        }
+        if (loginResponse.statusCode() != 200) {
+            return Outcome.FAILED;
+        }
+        return outcomeOf(authService.deleteCurrentUser(loginResponse.jsonPath().getString("token")).statusCode());
+    }
+
+    /**
+     * Los usuarios que crea la suite usan la clave de {@link DataFactory#defaultPassword()}.
+     */
+    private Response login(String email) {
+        return authService.login(new LoginRequest(email, DataFactory.defaultPassword()));
+    }
+
+    private static Outcome outcomeOf(int statusCode) {
+        if (statusCode == 200 || statusCode == 204) {
+            return Outcome.DELETED;
+        }
+        return statusCode == 404 ? Outcome.GONE : Outcome.FAILED;
+    }
+
+    private enum Outcome {
+        DELETED,
+        GONE,
+        FAILED
+    }
+
+    private record Attempt(CleanupJournal.Entry entry, Outcome outcome) {
+    }
+
+    /**
+     * Resultado del barrido.
+     *
+     * @param deleted recursos borrados.
+     * @param alreadyGone recursos que ya no existían.
+     * @param failed entradas que siguen en la bitácora para el próximo barrido.
+     */
+    public record Result(long deleted, long alreadyGone, List<CleanupJournal.Entry> failed) {
+
+        /**
+         * @return resumen legible para consola.
+         */
+        public String summary() {
+            return "orphan sweep deleted=" + deleted + " alreadyGone=" + alreadyGone + " failed=" + failed.size();
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Gate de regresión de performance: compara `target/api-metrics.json` contra la línea base versionada
+ * junto a los features. Un escenario o endpoint regresa si algún percentil vigilado supera la base en más de
+ * `perf.gate.tolerance.percent` y de `perf.gate.min.delta.ms` a la vez (el piso absoluto filtra el ruido de red).
+ * Con la línea base vacía el gate está desarmado: lo avisa en la tabla y en el log, y en modo `fail` rompe el build.
+ */
+public final class PerformanceGate {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PerformanceGate.class);
+
+    private static final String MODE_PROPERTY = "perf.gate.mode";
+    private static final String TOLERANCE_PROPERTY = "perf.gate.tolerance.percent";
+    private static final String MIN_DELTA_PROPERTY = "perf.gate.min.delta.ms";
+    private static final String PERCENTILES_PROPERTY = "perf.gate.percentiles";
+    private static final String BASELINE_PROPERTY = "perf.baseline.file";
+    private static final String REPORT_PROPERTY = "perf.gate.report";
+
+    private static final String MODE_FAIL = "fail";
+    private static final String MODE_OFF = "off";
+    private static final List<String> BASELINE_PERCENTILES = List.of("p50Ms", "p90Ms", "p99Ms");
+    private static final String UNARMED_MESSAGE = "GATE DESARMADO: la línea base {} está vacía y ninguna fila puede"
+            + " marcar regresión; generarla con `mvn --% test-compile exec:java@perf-rebaseline` y versionarla.";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Utilidad estática, no instanciable.
+     */
+    private PerformanceGate() {
+    }
+
+    /**
+     * Compara la corrida actual contra la línea base y escribe la tabla de diferencias.
+     * La suite borra las métricas al arrancar ({@link ApiMetrics#startRun()}): si no hay archivo, no hay nada que comparar.
+     *
+     * @return resultado del gate; {@link Result#failed()} indica si debe romper el build.
+     */
+    public static Result evaluate() {
+        String mode = RunProperties.value(MODE_PROPERTY, "warn").toLowerCase(Locale.ROOT);
+        Path current = ApiMetrics.jsonFile();
+        if (MODE_OFF.equals(mode) || !Files.exists(current)) {
+            return new Result(mode, List.of(), true, false);
+        }
+        double tolerance = RunProperties.longValue(TOLERANCE_PROPERTY, 20) / 100.0;
+        double minDeltaMs = RunProperties.longValue(MIN_DELTA_PROPERTY, 50);
+        List<String> percentiles = Arrays.stream(RunProperties.value(PERCENTILES_PROPERTY, "p50,p90").split(","))
+                .map(String::trim)
+                .filter(percentile -> !percentile.isEmpty())
+                .map(percentile -> percentile + "Ms")
+                .toList();
+
+        Map<String, Map<String, Double>> baseline = flatten(readTree(baselineFile()), false);
+        Map<String, Map<String, Double>> run = flatten(readTree(current), true);
+        List<Row> rows = new ArrayList<>();
+        run.forEach((name, values) -> {
+            Map<String, Double> expected = baseline.get(name);
+            for (String percentile : percentiles) {
+                Double now = values.get(percentile);
+                if (now == null) {
+                    continue;
+                }
+                Double before = expected == null ? null : expected.get(percentile);
+                rows.add(Row.compare(name, percentile, before, now, tolerance, minDeltaMs));
+            }
+        });
+
+        boolean armed = !baseline.isEmpty();
+        if (!armed) {
+            LOGGER.warn(UNARMED_MESSAGE, baselineFile());
+        }
+        boolean regressed = rows.stream().anyMatch(row -> row.status() == Status.REGRESSION);
+        Result result = new Result(mode, rows, armed, (regressed || !armed) && MODE_FAIL.equals(mode));
+        writeHtml(result);
+        return result;
+    }
+
+    /**
+     * Reemplaza la línea base con los percentiles de la última corrida.
+     *
+     * @return ruta de la línea base escrita.
+     */
+    public static Path rebaseline() {
+        Path current = ApiMetrics.jsonFile();
+        if (!Files.exists(current)) {
+            throw new IllegalStateException("No existe " + current + ": corre la suite antes de rebaselinear.");
+        }
+        Map<String, Map<String, Double>> run = flatten(readTree(current), true);
+        ObjectNode baseline = OBJECT_MAPPER.createObjectNode();
+        ObjectNode endpoints = baseline.putObject("endpoints");
+        ObjectNode scenarios = baseline.putObject("scenarios");
+        run.forEach((name, values) -> {
+            ObjectNode target = name.startsWith("endpoint: ")
+                    ? endpoints.putObject(name.substring("endpoint: ".length()))
+                    : scenarios.putObject(name.substring("scenario: ".length()));
+            BASELINE_PERCENTILES.forEach(percentile -> target.put(percentile, values.get(percentile)));
+        });
+        Path file = baselineFile();
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            OBJECT_MAPPER.writeValue(file.toFile(), baseline);
+        } catch (IOException exception) {
+            throw new IllegalStateException("No se pudo escribir la línea base " + file + ".", exception);
+        }
+        return file;
+    }
+
+    private static Path baselineFile() {
+        return Path.of(RunProperties.value(BASELINE_PROPERTY,
+                "src/test/resources/features/performance-baseline.json"));
+    }
+
+    private static JsonNode readTree(Path file) {
+        if (!Files.exists(file)) {
+            return OBJECT_MAPPER.createObjectNode();
+        }
+        try {
+            return OBJECT_MAPPER.readTree(file.toFile());
+        } catch (IOException exception) {
+            throw new IllegalStateException("No se pudo leer " + file + ".", exception);
+        }
+    }
+
+    /**
+     * Lleva métricas de corrida (arreglos) o línea base (objetos por nombre) a `tipo: nombre -> percentiles`,
+     * ordenado para que la tabla sea estable.
+     */
+    private static Map<String, Map<String, Double>> flatten(JsonNode root, boolean runFormat) {
+        Map<String, Map<String, Double>> flattened = new TreeMap<>();
+        collect(flattened, root.path("endpoints"), "endpoint", runFormat);
+        collect(flattened, root.path("scenarios"), "scenario", runFormat);
+        return flattened;
+    }
+
+    private static void collect(Map<String, Map<String, Double>> flattened, JsonNode section, String kind,
+                                boolean runFormat) {
+        if (runFormat) {
+            section.forEach(entry -> flattened.put(kind + ": " + runName(entry, kind), percentiles(entry)));
+            return;
+        }
+        section.properties().forEach(entry ->
+                flattened.put(kind + ": " + entry.getKey(), percentiles(entry.getValue())));
+    }
+
+    /**
+     * Los escenarios se identifican por nombre y `uri:línea`, igual que en {@link ApiMetrics}.
+     */
+    private static String runName(JsonNode entry, String kind) {
+        String name = entry.path(kind).asText();
+        return entry.hasNonNull("location") ? name + " @ " + entry.get("location").asText() : name;
+    }
+
+    private static Map<String, Double> percentiles(JsonNode node) {
+        Map<String, Double> values = new TreeMap<>();
+        BASELINE_PERCENTILES.forEach(percentile -> {
+            if (node.hasNonNull(percentile)) {
+                values.put(percentile, node.get(percentile).asDouble());
+            }
+        });
+        return values;
+    }
+
+    private static void writeHtml(Result result) {
+        Path file = Path.of(RunProperties.value(REPORT_PROPERTY, "target/site/serenity/performance-gate.html"));
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Performance gate</title>")
+                .append("<style>body{font-family:sans-serif}td,th{padding:4px 8px;text-align:right}")
+                .append("td:first-child,th:first-child{text-align:left}.REGRESSION{background:#f8d7da}")
+                .append(".IMPROVED{background:#d4edda}</style></head><body><h1>Performance gate (")
+                .append(result.mode()).append(")</h1>");
+        if (!result.armed()) {
+            html.append("<p class=\"REGRESSION\"><strong>")
+                    .append(UNARMED_MESSAGE.replace("{}", baselineFile().toString()))
+                    .append("</strong></p>");
+        }
+        html.append("<table border=\"1\" cellspacing=\"0\"><tr><th>name</th>")
+                .append("<th>percentile</th><th>baseline ms</th><th>current ms</th><th>delta %</th><th>status</th></tr>");
+        for (Row row : result.rows()) {
+            html.append("<tr class=\"").append(row.status()).append("\"><td>")
+                    .append(row.name().replace("&", "&amp;").replace("<", "&lt;")).append("</td><td>")
+                    .append(row.percentile()).append("</td><td>")
+                    .append(row.baselineMs() == null ? "-" : row.baselineMs()).append("</td><td>")
+                    .append(row.currentMs()).append("</td><td>")
+                    .append(row.deltaPercent() == null ? "-" : String.format(Locale.ROOT, "%+.1f", row.deltaPercent()))
+                    .append("</td><td>").append(row.status()).append("</td></tr>");
+        }
+        html.append("</table></body></html>");
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, html, StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            LOGGER.warn("No se pudo escribir {}: {}", file, exception.getMessage());
+        }
+    }
+
+    /**
+     * Estado de una fila de la comparación.
+     */
+    public enum Status {
+        OK,
+        REGRESSION,
+        IMPROVED,
+        NEW
+    }
+
+    /**
+     * Fila de la tabla de diferencias.
+     *
+     * @param name `endpoint: ...` o `scenario: ...`.
+     * @param percentile percentil comparado.
+     * @param baselineMs valor de la línea base, o `null` si es nuevo.
+     * @param currentMs valor de la corrida.
+     * @param deltaPercent variación porcentual, o `null` si es nuevo.
+     * @param status resultado.
+     */
+    public record Row(String name, String percentile, Double baselineMs, double currentMs, Double deltaPercent,
+                      Status status) {
+
+        private static Row compare(String name, String percentile, Double baselineMs, double currentMs,
+                                   double tolerance, double minDeltaMs) {
+            if (baselineMs == null) {
+                return new Row(name, percentile, null, currentMs, null, Status.NEW);
+            }
+            double delta = currentMs - baselineMs;
+            Double deltaPercent = baselineMs == 0 ? null : delta * 100 / baselineMs;
+            boolean beyondTolerance = delta > baselineMs * tolerance && delta > minDeltaMs;
+            boolean improved = -delta > baselineMs * tolerance && -delta > minDeltaMs;
+            Status status = beyondTolerance ? Status.REGRESSION : improved ? Status.IMPROVED : Status.OK;
+            return new Row(name, percentile, baselineMs, currentMs, deltaPercent, status);
+        }
+    }
+
+    /**
+     * Resultado del gate.
+     *
+     * @param mode `warn`, `fail` u `off`.
+     * @param rows filas comparadas.
+     * @param armed `false` si la línea base está vacía (todas las filas salen NEW).
+     * @param failed `true` si el modo es `fail` y hay regresiones o el gate está desarmado.
+     */
+    public record Result(String mode, List<Row> rows, boolean armed, boolean failed) {
+
+        /**
+         * @return tabla de texto con las filas que no están OK, más el conteo por estado.
+         */
+        public String diffTable() {
+            if (rows.isEmpty()) {
+                return "performance gate (" + mode + "): sin métricas para comparar";
+            }
+            String line = System.lineSeparator();
+            StringBuilder table = new StringBuilder("performance gate (" + mode + ")").append(line);
+            if (!armed) {
+                table.append(UNARMED_MESSAGE.replace("{}", baselineFile().toString())).append(line);
+            }
+            Map<Status, Integer> counts = new TreeMap<>();
+            for (Row row : rows) {
+                counts.merge(row.status(), 1, Integer::sum);
+                if (row.status() == Status.OK) {
+                    continue;
+                }
+                table.append(String.format(Locale.ROOT, "%-10s %-6s %10s -> %10.2f %8s  %s%n",
+                        row.status(), row.percentile(),
+                        row.baselineMs() == null ? "-" : String.format(Locale.ROOT, "%.2f", row.baselineMs()),
+                        row.currentMs(),
+                        row.deltaPercent() == null ? "" : String.format(Locale.ROOT, "%+.1f%%", row.deltaPercent()),
+                        row.name()));
+            }
+            return table.append(counts).toString();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package utils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Registro por escenario de los recursos que el escenario creó y por tanto debe limpiar.
+ * La cuenta compartida `auth.email` nunca se registra: la usan los demás escenarios.
+ */
+public final class ResourceRegistry {
+
+    private static final ThreadLocal<OwnedResources> OWNED = ThreadLocal.withInitial(OwnedResources::new);
+
+    /**
+     * Utilidad estática, no instanciable.
+     */
+    private ResourceRegistry() {
+    }
+
+    /**
+     * Registra un contacto creado por el escenario.
+     *
+     * @param contactId id devuelto por la API.
+     * @param token token con el que se creó (y con el que se elimina).
+     */
+    public static void registerContact(String contactId, String token) {
+        if (contactId == null || contactId.isBlank()) {
+            return;
+        }
+        Supplier<String> relogin = AuthTokenCache.loginFor(token).orElse(null);
+        OWNED.get().contacts.put(contactId, new OwnedContact(contactId, token, relogin));
+    }
+
+    /**
+     * Saca del registro un contacto que el propio escenario ya eliminó.
+     *
+     * @param contactId id del contacto.
+     */
+    public static void forgetContact(String contactId) {
+        OWNED.get().contacts.remove(contactId);
+    }
+
+    /**
+     * Registra un usuario creado por el escenario.
+     *
+     * @param email correo del usuario.
+     * @param password clave, para obtener token en la limpieza si no se tiene uno.
+     * @param token token de signup, o `null` si no se conoce.
+     */
+    public static void registerUser(String email, String password, String token) {
+        if (email == null || email.isBlank() || email.equalsIgnoreCase(AuthProperties.email())) {
+            return;
+        }
+        OWNED.get().users.put(email.toLowerCase(Locale.ROOT), new OwnedUser(email, password, token));
+    }
+
+    /**
+     * Saca del registro al usuario dueño del token (por ejemplo, tras eliminarlo en el escenario).
+     *
+     * @param token token del usuario eliminado.
+     */
+    public static void forgetUserWithToken(String token) {
+        if (token == null) {
+            return;
+        }
+        OWNED.get().users.values().removeIf(user -> token.equals(user.token()));
+    }
+
+    /**
+     * Saca del registro al usuario con ese correo (por ejemplo, si se eliminó con un token de otro login).
+     *
+     * @param email correo del usuario eliminado.
+     */
+    public static void forgetUserWithEmail(String email) {
+        if (email == null) {
+            return;
+        }
+        OWNED.get().users.remove(email.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @return contactos pendientes de limpieza, en orden de creación.
+     */
+    public static List<OwnedContact> contacts() {
+        return List.copyOf(OWNED.get().contacts.values());
+    }
+
+    /**
+     * @return usuarios pendientes de limpieza, en orden de creación.
+     */
+    public static List<OwnedUser> users() {
+        return List.copyOf(OWNED.get().users.values());
+    }
+
+    /**
+     * Limpia el registro del hilo actual al inicio/fin de cada escenario.
+     */
+    public static void clear() {
+        OWNED.remove();
+    }
+
+    /**
+     * Contacto creado por el escenario.
+     *
+     * @param id id del contacto.
+     * @param token token del dueño.
+     * @param relogin login del dueño si el token salió de {@link AuthTokenCache}, o `null`: la limpieza corre
+     *                en otro hilo y el token puede haber muerto antes (logout, usuario eliminado).
+     */
+    public record OwnedContact(String id, String token, Supplier<String> relogin) {
+    }
+
+    /**
+     * Usuario creado por el escenario.
+     *
+     * @param email correo del usuario.
+     * @param password clave del usuario.
+     * @param token token conocido o `null`.
+     */
+    public record OwnedUser(String email, String password, String token) {
+    }
+
+    private static final class OwnedResources {
+
+        private final Map<String, OwnedContact> contacts = new LinkedHashMap<>();
+        private final Map<String, OwnedUser> users = new LinkedHashMap<>();
+    }
+}
@@ -0,0 +1,85 @@
+package utils;
+
+/**
+ * Lectura de propiedades de ejecución opcionales (`-Dclave=valor`).
+ * Si el valor no se puede interpretar, fallamos de una con un mensaje claro.
+ */
+public final class RunProperties {
+
+    /**
+     * Utilidad estática, no instanciable.
+     */
+    private RunProperties() {
+    }
+
+    /**
+     * @param key nombre de la propiedad.
+     * @param defaultValue valor cuando no viene o viene vacía.
+     * @return valor limpio o el default.
+     */
+    public static String value(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        return value.trim();
+    }
+
+    /**
+     * @param key nombre de la propiedad.
+     * @param defaultValue valor cuando no viene.
+     * @return `true` solo si la propiedad vale `true` (sin importar mayúsculas).
+     */
+    public static boolean booleanValue(String key, boolean defaultValue) {
+        String value = value(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    /**
+     * @param key nombre de la propiedad.
+     * @param defaultValue valor cuando no viene.
+     * @return valor entero.
+     */
+    public static int intValue(String key, int defaultValue) {
+        return (int) longValue(key, defaultValue);
+    }
+
+    /**
+     * @param key nombre de la propiedad.
+     * @param defaultValue valor cuando no viene.
+     * @return valor entero largo.
+     */
+    public static long longValue(String key, long defaultValue) {
+        String value = value(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException exception) {
+            throw new IllegalStateException(
+                    "La propiedad '" + key + "' debe ser numérica y llegó '" + value + "'.", exception);
+        }
+    }
+
+    /**
+     * @param key nombre de la propiedad.
+     * @param defaultValue valor cuando no viene.
+     * @return valor decimal.
+     */
+    public static double doubleValue(String key, double defaultValue) {
+        String value = value(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException exception) {
+            throw new IllegalStateException(
+                    "La propiedad '" + key + "' debe ser numérica y llegó '" + value + "'.", exception);
+        }
+    }
+}
@@ -6,6 +6,8 @@ import java.util.Map;
 /**
  * Almacén en memoria por hilo para compartir datos entre steps de un escenario.
  * Evita acoplar step definitions con estado global mutable.
+ * En ejecución paralela cada worker corre un escenario completo en su hilo,
+ * así que el aislamiento por hilo equivale a aislamiento por escenario.
  */
 public final class ScenarioContext {
 
@@ -45,8 +47,9 @@ public final class ScenarioContext {
 
     /**
      * Limpia el contexto del hilo actual al inicio/fin de cada escenario.
+     * Libera el mapa para que los hilos del pool no retengan datos de escenarios previos.
      */
     public static void clear() {
-        CONTEXT.get().clear();
+        CONTEXT.remove();
     }
 }
@@ -0,0 +1,104 @@
+package utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import net.serenitybdd.screenplay.Actor;
+import net.serenitybdd.screenplay.abilities.BrowseTheWeb;
+import net.serenitybdd.screenplay.actors.Cast;
+import net.serenitybdd.screenplay.actors.OnStage;
+import net.serenitybdd.screenplay.actors.OnlineCast;
+import net.thucydides.core.webdriver.ThucydidesWebDriverSupport;
+
+/**
+ * Escenario Screenplay con aprovisionamiento perezoso del navegador.
+ * Solo los steps UI lo piden, así que los escenarios `@api` no resuelven driver ni montan stage.
+ * Por defecto los actores navegan con una sesión de {@link BrowserSessionPool} (`-Dbrowser.pool.enabled=false` lo apaga).
+ */
+public final class UiStage {
+
+    private static final boolean POOL_ENABLED = RunProperties.booleanValue("browser.pool.enabled", true);
+
+    private static final ThreadLocal<Boolean> STAGE_SET = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<BrowserSessionPool.PooledSession> SESSION = new ThreadLocal<>();
+
+    private static volatile boolean chromeDriverResolved;
+
+    /**
+     * Utilidad estática, no instanciable.
+     */
+    private UiStage() {
+    }
+
+    /**
+     * Entrega un actor del escenario actual, montando el stage en el primer uso.
+     *
+     * @param actorName nombre del actor Screenplay.
+     * @return actor con capacidad de navegar.
+     */
+    public static Actor theActorCalled(String actorName) {
+        ensureStage();
+        return OnStage.theActorCalled(actorName);
+    }
+
+    /**
+     * Entrega el actor en foco, montando el stage si aún no existe.
+     *
+     * @return actor en spotlight.
+     */
+    public static Actor theActorInTheSpotlight() {
+        ensureStage();
+        return OnStage.theActorInTheSpotlight();
+    }
+
+    /**
+     * Cierra el stage del hilo actual solo si algún step UI lo montó y devuelve la sesión al pool.
+     *
+     * @param scenarioFailed si el escenario falló; en ese caso la sesión se recicla.
+     */
+    public static void drawTheCurtain(boolean scenarioFailed) {
+        if (!STAGE_SET.get()) {
+            return;
+        }
+        try {
+            OnStage.drawTheCurtain();
+        } finally {
+            STAGE_SET.remove();
+            BrowserSessionPool.release(SESSION.get(), scenarioFailed);
+            SESSION.remove();
+        }
+    }
+
+    /**
+     * Monta el stage del escenario actual una sola vez.
+     */
+    private static void ensureStage() {
+        if (STAGE_SET.get()) {
+            return;
+        }
+        resolveChromeDriver();
+        if (POOL_ENABLED) {
+            BrowserSessionPool.PooledSession session = BrowserSessionPool.acquire();
+            SESSION.set(session);
+            ThucydidesWebDriverSupport.useDriver(session.driver());
+            OnStage.setTheStage(Cast.whereEveryoneCan(BrowseTheWeb.with(session.driver())));
+        } else {
+            OnStage.setTheStage(new OnlineCast());
+        }
+        STAGE_SET.set(true);
+    }
+
+    /**
+     * Resuelve chromedriver una vez por JVM.
+     * La resolución se serializa porque WebDriverManager no tolera setups concurrentes.
+     */
+    private static void resolveChromeDriver() {
+        if (chromeDriverResolved) {
+            return;
+        }
+        synchronized (UiStage.class) {
+            if (!chromeDriverResolved) {
+                WebDriverManager.chromedriver().setup();
+                chromeDriverResolved = true;
+            }
+        }
+    }
+}
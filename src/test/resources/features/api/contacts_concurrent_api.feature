@@ -0,0 +1,15 @@
+@api @regression
+Feature: Preparacion concurrente por API
+
+  Scenario: Usuario y contactos preparados en paralelo
+    Given que el usuario se autentica por API y obtiene un token valido
+    When prepara en paralelo un usuario nuevo y 20 contactos por API
+    Then los 20 contactos preparados deben poder consultarse por id
+    And el usuario preparado debe poder iniciar sesion, cerrar sesion y eliminarse por API
+
+  Scenario: Actualizar y eliminar contactos en paralelo
+    Given que el usuario se autentica por API y obtiene un token valido
+    And prepara en paralelo un usuario nuevo y 10 contactos por API
+    When actualiza en paralelo los contactos preparados por PUT y PATCH
+    And elimina en paralelo los contactos preparados por API
+    Then los contactos preparados no deben existir por API
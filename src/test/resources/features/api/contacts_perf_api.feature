@@ -0,0 +1,18 @@
+@api @perf
+Feature: SLO de latencia de contactos por API
+
+  Scenario: p95 de crear contactos bajo el SLO
+    Given que el usuario se autentica por API y obtiene un token valido
+    When crea 200 contactos por API
+    Then el p95 de latencia de "POST /contacts" en 200 llamadas debe ser menor a 300 ms
+
+  Scenario: Consulta de contacto por id dentro del SLO
+    Given que el usuario se autentica por API y obtiene un token valido
+    And crea un contacto con datos validos por API
+    When consulta por API el contacto creado por id
+    Then la ultima respuesta debe llegar en menos de 500 ms
+
+  Scenario: Siembra masiva de contactos en paralelo
+    Given que el usuario se autentica por API y obtiene un token valido
+    And siembra 1000 contactos por API
+    Then el listado de contactos por API debe incluir los contactos sembrados
@@ -0,0 +1,7 @@
+@api @faults:flaky
+Feature: Perfiles de fallas del simulador
+
+  Scenario: El perfil flaky responde 502 y corta conexiones segun la semilla
+    Given que la API apunta al simulador local
+    When envia altas de contacto sin token por API hasta observar un 502 y un corte de conexion
+    Then cada respuesta debe coincidir con la decision de la semilla del simulador
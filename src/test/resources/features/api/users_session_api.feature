@@ -7,7 +7,7 @@ Feature: Sesion y ciclo de usuario por API
     When cierra sesion por API
     Then la respuesta de logout debe ser 200
 
-  @smoke
+  @smoke @exclusive_user
   Scenario: Delete user por API retorna 200
     Given que el usuario se autentica por API y obtiene un token valido
     When elimina su usuario actual por API